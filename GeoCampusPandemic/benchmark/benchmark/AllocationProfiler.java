@@ -0,0 +1,194 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import repast.simphony.engine.schedule.ISchedule;
+import repast.simphony.engine.schedule.Schedule;
+import repast.simphony.parameter.Parameters;
+import simulation.HeadlessParameters;
+import simulation.HeadlessRunner;
+import util.TickConverter;
+
+public final class AllocationProfiler {
+
+	/**
+	 * Recording file
+	 */
+	public static final String RECORDING_FILE = "./output/allocations.jfr";
+
+	/**
+	 * Simulated ticks before recording. Arrivals and departures of the first
+	 * week are left out.
+	 */
+	private static final int WARMUP_TICKS = TickConverter.TICKS_PER_WEEK;
+
+	/**
+	 * Recorded ticks
+	 */
+	private static final int RECORDED_TICKS = TickConverter.TICKS_PER_WEEK;
+
+	/**
+	 * Allocation sites to report
+	 */
+	private static final int TOP_SITES = 20;
+
+	/**
+	 * Allocations in a new thread-local allocation buffer
+	 */
+	private static final String NEW_TLAB_EVENT = "jdk.ObjectAllocationInNewTLAB";
+
+	/**
+	 * Allocations outside thread-local allocation buffers
+	 */
+	private static final String OUTSIDE_TLAB_EVENT = "jdk.ObjectAllocationOutsideTLAB";
+
+	/**
+	 * Packages of the model. Allocations are attributed to the innermost
+	 * frame in these packages.
+	 */
+	private static final String[] MODEL_PACKAGES = { "config.",
+			"datasource.", "gis.", "model.", "simulation.", "styles.",
+			"util." };
+
+	/**
+	 * Private constructor
+	 */
+	private AllocationProfiler() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Record an allocation profile of a simulated week, after a week of
+	 * warm-up, and report the top allocation sites in the model per tick.
+	 * The argument is a parameters file, as for the headless runner. It must
+	 * be run from the project directory.
+	 * 
+	 * @param args Arguments
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			System.err.println("Usage: AllocationProfiler <parameters file>");
+			System.exit(1);
+		}
+		Parameters parameters = HeadlessParameters
+				.load(HeadlessParameters.DEFAULTS_FILE, args[0]);
+		ISchedule schedule = new Schedule();
+		HeadlessRunner.build(parameters, schedule);
+		advance(schedule, WARMUP_TICKS);
+		Path file = Paths.get(RECORDING_FILE).toAbsolutePath();
+		Files.createDirectories(file.getParent());
+		try (Recording recording = new Recording()) {
+			recording.enable(NEW_TLAB_EVENT).withStackTrace();
+			recording.enable(OUTSIDE_TLAB_EVENT).withStackTrace();
+			recording.start();
+			advance(schedule, WARMUP_TICKS + RECORDED_TICKS);
+			recording.stop();
+			recording.dump(file);
+		}
+		report(readAllocationSites(file));
+		System.out.printf("Recording: %s%n", file);
+	}
+
+	/**
+	 * Execute the schedule up to a tick
+	 * 
+	 * @param schedule Schedule
+	 * @param endTick  End tick
+	 */
+	private static void advance(ISchedule schedule, double endTick) {
+		while (schedule.getTickCount() < endTick) {
+			schedule.execute();
+		}
+	}
+
+	/**
+	 * Read allocated bytes by allocation site from a recording. Allocations in
+	 * a new buffer are weighted by the size of the buffer, as JFR samples
+	 * them. Sites are named by the innermost frame in the model and the
+	 * allocated class. Allocations without frames in the model are left out.
+	 * 
+	 * @param file Recording file
+	 */
+	private static Map<String, Long> readAllocationSites(Path file)
+			throws IOException {
+		Map<String, Long> sites = new HashMap<>();
+		for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+			String type = event.getEventType().getName();
+			long bytes;
+			if (type.equals(NEW_TLAB_EVENT)) {
+				bytes = event.getLong("tlabSize");
+			} else if (type.equals(OUTSIDE_TLAB_EVENT)) {
+				bytes = event.getLong("allocationSize");
+			} else {
+				continue;
+			}
+			RecordedFrame frame = findModelFrame(event.getStackTrace());
+			if (frame == null) {
+				continue;
+			}
+			String site = String.format("%s.%s:%d (%s)",
+					frame.getMethod().getType().getName(),
+					frame.getMethod().getName(), frame.getLineNumber(),
+					event.getClass("objectClass").getName());
+			sites.merge(site, bytes, Long::sum);
+		}
+		return sites;
+	}
+
+	/**
+	 * Find the innermost frame in the model. It returns null if there is
+	 * none.
+	 * 
+	 * @param stackTrace Stack trace
+	 */
+	private static RecordedFrame findModelFrame(RecordedStackTrace stackTrace) {
+		if (stackTrace == null) {
+			return null;
+		}
+		for (RecordedFrame frame : stackTrace.getFrames()) {
+			String className = frame.getMethod().getType().getName();
+			for (String modelPackage : MODEL_PACKAGES) {
+				if (className.startsWith(modelPackage)) {
+					return frame;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Report allocated bytes per tick, in total and for the top allocation
+	 * sites
+	 * 
+	 * @param sites Allocated bytes by allocation site
+	 */
+	private static void report(Map<String, Long> sites) {
+		long total = 0;
+		for (long bytes : sites.values()) {
+			total += bytes;
+		}
+		System.out.printf("Model allocations: %.0f bytes/tick%n",
+				(double) total / RECORDED_TICKS);
+		List<Map.Entry<String, Long>> ranking = new ArrayList<>(
+				sites.entrySet());
+		ranking.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+		for (int i = 0; i < Math.min(TOP_SITES, ranking.size()); i++) {
+			Map.Entry<String, Long> site = ranking.get(i);
+			System.out.printf("%14.0f bytes/tick %6.1f%%  %s%n",
+					(double) site.getValue() / RECORDED_TICKS,
+					100.0 * site.getValue() / total, site.getKey());
+		}
+	}
+
+}
\ No newline at end of file
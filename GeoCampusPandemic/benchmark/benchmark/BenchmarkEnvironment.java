@@ -0,0 +1,76 @@
+package benchmark;
+
+import config.SourcePaths;
+import repast.simphony.engine.environment.RunEnvironment;
+import repast.simphony.engine.schedule.Schedule;
+import repast.simphony.parameter.DefaultParameters;
+import repast.simphony.random.RandomHelper;
+import simulation.SimulationConfig;
+
+public final class BenchmarkEnvironment {
+
+	/**
+	 * Random seed
+	 */
+	public static final int SEED = 1;
+
+	/**
+	 * Private constructor
+	 */
+	private BenchmarkEnvironment() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Initialize a batch run environment with the default parameters of the
+	 * model, as declared in parameters.xml
+	 */
+	public static DefaultParameters init() {
+		DefaultParameters parameters = new DefaultParameters();
+		addParameter(parameters, "infectionRadius", Double.class, 2.0);
+		addParameter(parameters, "learningStyle", String.class, "Q-learning");
+		addParameter(parameters, "exposedStudents", Integer.class, 1);
+		addParameter(parameters, "learningRate", Double.class, 0.1);
+		addParameter(parameters, "epsilon", Double.class, 0.1);
+		addParameter(parameters, "selectionStrategy", String.class,
+				"RL-based");
+		addParameter(parameters, "susceptibleStudents", Integer.class, 10000);
+		addParameter(parameters, "socialDistancing", Double.class, 2.0);
+		addParameter(parameters, "discountFactor", Double.class, 0.8);
+		addParameter(parameters, "vehicleUsageRatio", Double.class, 0.3);
+		addParameter(parameters, "susceptibleStaffers", Integer.class, 200);
+		addParameter(parameters, "outbreakTick", Double.class, 1440.0);
+		addParameter(parameters, "particleExpulsionInterval", Double.class,
+				15.0);
+		addParameter(parameters, "minInitQValue", Double.class, 0.0);
+		addParameter(parameters, "maxInitQValue", Double.class, 0.0);
+		addParameter(parameters, "routingAlgorithm", String.class, "auto");
+		addParameter(parameters, "lazyTransit", Boolean.class, false);
+		addParameter(parameters, "policyExportTick", Double.class, -1.0);
+		addParameter(parameters, "warmStart", Boolean.class, false);
+		addParameter(parameters, "policyFreezeTick", Double.class, -1.0);
+		addParameter(parameters, "preTrainingRounds", Integer.class, 0);
+		addParameter(parameters, "preTrainingActiveShare", Double.class, 0.2);
+		addParameter(parameters, "configDumpFile", String.class,
+				SimulationConfig.DUMP_FILE);
+		addParameter(parameters, "policiesFile", String.class,
+				SourcePaths.POLICIES);
+		RunEnvironment.init(new Schedule(), null, parameters, true);
+		RandomHelper.setSeed(SEED);
+		return parameters;
+	}
+
+	/**
+	 * Add parameter
+	 * 
+	 * @param parameters   Parameters
+	 * @param name         Parameter id
+	 * @param type         Parameter type
+	 * @param defaultValue Default value
+	 */
+	private static void addParameter(DefaultParameters parameters,
+			String name, Class<?> type, Object defaultValue) {
+		parameters.addParameter(name, name, type, defaultValue, false);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,380 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import com.sun.management.ThreadMXBean;
+import config.SourcePaths;
+import datasource.Reader;
+import gis.GISPolygon;
+import model.agents.AcademicActivity;
+import model.agents.CommunityMember;
+import model.agents.Group;
+import model.agents.Schedule;
+import model.agents.Traversal;
+import model.learning.LearningIndex;
+import model.learning.LearningMechanism;
+import model.learning.QLearningMechanism;
+import model.util.Heuristics;
+import model.util.Randomizer;
+import repast.simphony.context.DefaultContext;
+import repast.simphony.engine.environment.RunEnvironment;
+import repast.simphony.parameter.DefaultParameters;
+import repast.simphony.random.RandomHelper;
+import simulation.SimulationBuilder;
+import simulation.SimulationConfig;
+import util.PolygonUtil;
+
+public final class HotPathBenchmark {
+
+	/**
+	 * Populations of the fixtures
+	 */
+	private static final int[] POPULATIONS = { 1000, 10000 };
+
+	/**
+	 * Student schedules to query
+	 */
+	private static final int SCHEDULES = 1000;
+
+	/**
+	 * Operations per round
+	 */
+	private static final int OPERATIONS = 100000;
+
+	/**
+	 * Warm-up rounds
+	 */
+	private static final int WARMUP_ROUNDS = 5;
+
+	/**
+	 * Measured rounds
+	 */
+	private static final int MEASURED_ROUNDS = 10;
+
+	/**
+	 * Sink for the results of operations, so they are not optimized away
+	 */
+	private static volatile double sink;
+
+	/**
+	 * Private constructor
+	 */
+	private HotPathBenchmark() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Report throughput and allocation of the inner loops of the model.
+	 * Operations that don't depend on the population are measured once, on
+	 * the learning index and the groups read from data/. The others are
+	 * measured on the campus built by the simulation builder with a small and
+	 * a large population. It must be run from the project directory.
+	 * 
+	 * @param args Arguments
+	 */
+	public static void main(String[] args) {
+		DefaultParameters parameters = BenchmarkEnvironment.init();
+		System.out.printf("%-28s %10s %14s %10s %10s%n", "benchmark",
+				"population", "ops/s", "bytes/op", "MB/s");
+		ModelFixture model = new ModelFixture();
+		measure("TDLearningMechanism", "-", parameters, model::learn);
+		measure("Schedule.getNextActivity", "-", parameters,
+				model::getNextAcademicActivity);
+		measure("Randomizer.isGettingExposed", "-", parameters,
+				model::isGettingExposed);
+		for (int population : POPULATIONS) {
+			parameters.setValue("susceptibleStudents", population);
+			String label = Integer.toString(population);
+			CampusFixture campus = new CampusFixture();
+			measure("CommunityMember.infect", label, parameters,
+					campus::infect);
+			measure("CommunityMember.moveToPolygon", label, parameters,
+					campus::moveToPolygon);
+			measure("CommunityMember.relocate", label, parameters,
+					campus::relocate);
+			measure("PolygonUtil.getRandomPoint", label, parameters,
+					campus::getRandomPoint);
+		}
+	}
+
+	/**
+	 * Measure and report an operation. The schedule is reset before every
+	 * round, so events scheduled by the operation do not pile up.
+	 * 
+	 * @param name       Benchmark name
+	 * @param population Population of the fixture
+	 * @param parameters Run parameters
+	 * @param operation  Operation
+	 */
+	private static void measure(String name, String population,
+			DefaultParameters parameters, Operation operation) {
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			resetSchedule(parameters);
+			runRound(operation);
+		}
+		long nanos = 0;
+		long bytes = 0;
+		for (int i = 0; i < MEASURED_ROUNDS; i++) {
+			resetSchedule(parameters);
+			long startBytes = allocatedBytes();
+			long start = System.nanoTime();
+			runRound(operation);
+			nanos += System.nanoTime() - start;
+			bytes += allocatedBytes() - startBytes;
+		}
+		double operations = (double) OPERATIONS * MEASURED_ROUNDS;
+		double seconds = nanos / 1e9;
+		System.out.printf("%-28s %10s %14.0f %10.1f %10.1f%n", name,
+				population, operations / seconds, bytes / operations,
+				bytes / 1e6 / seconds);
+	}
+
+	/**
+	 * Replace the schedule with an empty one
+	 * 
+	 * @param parameters Run parameters
+	 */
+	private static void resetSchedule(DefaultParameters parameters) {
+		RunEnvironment.init(new repast.simphony.engine.schedule.Schedule(),
+				null, parameters, true);
+	}
+
+	/**
+	 * Run one round of an operation
+	 * 
+	 * @param operation Operation
+	 */
+	private static void runRound(Operation operation) {
+		double result = 0;
+		for (int i = 0; i < OPERATIONS; i++) {
+			result += operation.run(i);
+		}
+		sink = result;
+	}
+
+	/**
+	 * Get bytes allocated by the current thread
+	 */
+	private static long allocatedBytes() {
+		ThreadMXBean threads = (ThreadMXBean) ManagementFactory
+				.getThreadMXBean();
+		return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * Benchmarked operation
+	 */
+	private interface Operation {
+
+		/**
+		 * Run operation. It returns a value derived from its result.
+		 * 
+		 * @param i Operation number
+		 */
+		double run(int i);
+
+	}
+
+	/**
+	 * Learner and student schedules, which don't depend on the campus or the
+	 * population
+	 */
+	private static class ModelFixture {
+
+		/**
+		 * Learner
+		 */
+		private LearningMechanism learner;
+
+		/**
+		 * Location of the learner
+		 */
+		private String location;
+
+		/**
+		 * Student schedules
+		 */
+		private Schedule[] schedules;
+
+		/**
+		 * Build fixture
+		 */
+		ModelFixture() {
+			RandomHelper.setSeed(BenchmarkEnvironment.SEED);
+			// Learning
+			Map<String, GISPolygon> teachingFacilities = Reader
+					.readFacilityAttributesDatabase(
+							SourcePaths.TEACHING_FACILITIES_ATTRIBUTES_DATABASE);
+			Map<String, GISPolygon> sharedAreas = Reader
+					.readFacilityAttributesDatabase(
+							SourcePaths.SHARED_AREAS_ATTRIBUTES_DATABASE);
+			Map<String, GISPolygon> eatingPlaces = Reader
+					.readFacilityAttributesDatabase(
+							SourcePaths.EATING_PLACES_ATTRIBUTES_DATABASE);
+			LearningIndex index = new LearningIndex(teachingFacilities,
+					sharedAreas, eatingPlaces);
+			this.learner = new QLearningMechanism(SimulationConfig.snapshot(),
+					index);
+			this.location = index.getStateId(0);
+			// Schedules
+			Map<String, Group> groups = Reader
+					.readGroupsDatabase(SourcePaths.GROUPS_DATABASE);
+			this.schedules = new Schedule[SCHEDULES];
+			for (int i = 0; i < SCHEDULES; i++) {
+				this.schedules[i] = Heuristics.buildRandomSchedule(groups);
+			}
+		}
+
+		/**
+		 * Select a destination and learn from its reward
+		 * 
+		 * @param i Operation number
+		 */
+		double learn(int i) {
+			String destination = this.learner.selectAction(this.location);
+			this.learner.updateLearning(destination, 0.5 - (i % 7) / 7.0);
+			this.location = destination;
+			return destination.length();
+		}
+
+		/**
+		 * Find the next academic activity of a student
+		 * 
+		 * @param i Operation number
+		 */
+		double getNextAcademicActivity(int i) {
+			Schedule schedule = this.schedules[i % this.schedules.length];
+			int day = 1 + i % 7;
+			double hour = (i / 7) % 24;
+			AcademicActivity activity = schedule.getNextAcademicActivity(day,
+					hour);
+			return activity == null ? 0 : activity.getStartTime();
+		}
+
+		/**
+		 * Draw whether a contact gets exposed
+		 * 
+		 * @param i Operation number
+		 */
+		double isGettingExposed(int i) {
+			double incubationDiff = i % 240 - 120;
+			return Randomizer.isGettingExposed(incubationDiff) ? 1 : 0;
+		}
+
+	}
+
+	/**
+	 * Campus and population built by the simulation builder. Every member is
+	 * initialized and placed in a teaching facility, as in the middle of a
+	 * campus day.
+	 */
+	private static class CampusFixture {
+
+		/**
+		 * Simulation builder
+		 */
+		private SimulationBuilder builder;
+
+		/**
+		 * Community members
+		 */
+		private CommunityMember[] members;
+
+		/**
+		 * Placement of every member
+		 */
+		private GISPolygon[] placements;
+
+		/**
+		 * Eating places
+		 */
+		private GISPolygon[] eatingPlaces;
+
+		/**
+		 * Polygons to sample points from
+		 */
+		private GISPolygon[] polygons;
+
+		/**
+		 * Build fixture
+		 */
+		CampusFixture() {
+			RandomHelper.setSeed(BenchmarkEnvironment.SEED);
+			this.builder = new SimulationBuilder();
+			this.builder.build(new DefaultContext<>());
+			// Members
+			List<GISPolygon> teachingFacilities = new ArrayList<>(
+					this.builder.teachingFacilities.values());
+			int memberCount = this.builder.communityMembers.size();
+			this.members = new CommunityMember[memberCount];
+			this.placements = new GISPolygon[memberCount];
+			for (int i = 0; i < memberCount; i++) {
+				CommunityMember member = this.builder.communityMembers.get(i);
+				member.init();
+				int facility = RandomHelper.nextIntFromTo(0,
+						teachingFacilities.size() - 1);
+				this.placements[i] = teachingFacilities.get(facility);
+				member.relocate(this.placements[i]);
+				this.members[i] = member;
+			}
+			// Polygons
+			this.eatingPlaces = this.builder.eatingPlaces.values()
+					.toArray(new GISPolygon[0]);
+			List<GISPolygon> polygons = new ArrayList<>(teachingFacilities);
+			polygons.addAll(this.builder.sharedAreas.values());
+			polygons.addAll(this.builder.eatingPlaces.values());
+			this.polygons = polygons.toArray(new GISPolygon[0]);
+		}
+
+		/**
+		 * Expel particles and infect the nearby susceptible members
+		 * 
+		 * @param i Operation number
+		 */
+		double infect(int i) {
+			this.members[i % this.members.length].expelParticles();
+			return 0;
+		}
+
+		/**
+		 * Start a move to an eating place, as moveToPolygon does
+		 * 
+		 * @param i Operation number
+		 */
+		double moveToPolygon(int i) {
+			int member = i % this.members.length;
+			GISPolygon eatingPlace = this.eatingPlaces[i
+					% this.eatingPlaces.length];
+			Traversal traversal = new Traversal(this.members[member],
+					this.placements[member], eatingPlace,
+					Randomizer.getRandomWalkingSpeed(), null);
+			traversal.start();
+			return 0;
+		}
+
+		/**
+		 * Relocate a member within its placement
+		 * 
+		 * @param i Operation number
+		 */
+		double relocate(int i) {
+			int member = i % this.members.length;
+			this.members[member].relocate(this.placements[member]);
+			return 0;
+		}
+
+		/**
+		 * Sample a random point
+		 * 
+		 * @param i Operation number
+		 */
+		double getRandomPoint(int i) {
+			GISPolygon polygon = this.polygons[i % this.polygons.length];
+			return PolygonUtil.getRandomPoint(polygon).getX();
+		}
+
+	}
+
+}
\ No newline at end of file
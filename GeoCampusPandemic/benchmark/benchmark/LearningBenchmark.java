@@ -0,0 +1,410 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import config.SourcePaths;
+import datasource.Reader;
+import gis.GISPolygon;
+import model.learning.LearningIndex;
+import model.learning.LearningMechanism;
+import model.learning.QLearningMechanism;
+import model.learning.QValueInitializer;
+import model.learning.SharedQLearningMechanism;
+import model.learning.SharedQTable;
+import repast.simphony.random.RandomHelper;
+import repast.simphony.util.collections.Pair;
+import simulation.SimulationConfig;
+
+public final class LearningBenchmark {
+
+	/**
+	 * Learners to measure memory with
+	 */
+	private static final int LEARNERS = 2000;
+
+	/**
+	 * Decisions per round
+	 */
+	private static final int DECISIONS = 1000000;
+
+	/**
+	 * Warm-up rounds
+	 */
+	private static final int WARMUP_ROUNDS = 3;
+
+	/**
+	 * Measured rounds
+	 */
+	private static final int MEASURED_ROUNDS = 5;
+
+	/**
+	 * Private constructor
+	 */
+	private LearningBenchmark() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Compare the map-based Q-tables learners used to have with the current
+	 * flat Q-tables: heap per learner, decisions per second and whether both
+	 * take the same decisions from the same seed. Heap per learner is also
+	 * reported for learners over a shared Q-table. Default parameters use a
+	 * constant initial Q-value. It must be run from the project directory.
+	 * 
+	 * @param args Arguments
+	 */
+	public static void main(String[] args) {
+		BenchmarkEnvironment.init();
+		SimulationConfig config = SimulationConfig.snapshot();
+		Map<String, GISPolygon> teachingFacilities = Reader
+				.readFacilityAttributesDatabase(
+						SourcePaths.TEACHING_FACILITIES_ATTRIBUTES_DATABASE);
+		Map<String, GISPolygon> sharedAreas = Reader
+				.readFacilityAttributesDatabase(
+						SourcePaths.SHARED_AREAS_ATTRIBUTES_DATABASE);
+		Map<String, GISPolygon> eatingPlaces = Reader
+				.readFacilityAttributesDatabase(
+						SourcePaths.EATING_PLACES_ATTRIBUTES_DATABASE);
+		LearningIndex index = new LearningIndex(teachingFacilities,
+				sharedAreas, eatingPlaces);
+		System.out.printf("States: %d, state-action pairs: %d%n",
+				index.getStateCount(), index.getActionCount());
+		// Memory
+		long mapBytes = measureHeap(() -> new MapQLearner(config,
+				teachingFacilities, sharedAreas, eatingPlaces));
+		long flatBytes = measureHeap(
+				() -> new QLearningMechanism(config, index));
+		System.out.printf("%-8s %12d bytes/learner%n", "map", mapBytes);
+		QValueInitializer initializer = new QValueInitializer(
+				config.getMinimumInitialQValue(),
+				config.getMaximumInitialQValue());
+		SharedQTable table = new SharedQTable(index, initializer);
+		long sharedBytes = measureHeap(
+				() -> new SharedQLearningMechanism(config, index, table));
+		System.out.printf("%-8s %12d bytes/learner%n", "flat", flatBytes);
+		System.out.printf("%-8s %12d bytes/learner%n", "shared", sharedBytes);
+		// Equivalence. Learners are reseeded after construction since flat
+		// learners skip the draws of constant initial Q-values.
+		MapQLearner mapLearner = new MapQLearner(config, teachingFacilities,
+				sharedAreas, eatingPlaces);
+		RandomHelper.setSeed(BenchmarkEnvironment.SEED);
+		List<String> mapDecisions = decide(mapLearner, index, DECISIONS);
+		Learner flatLearner = new MechanismLearner(
+				new QLearningMechanism(config, index));
+		RandomHelper.setSeed(BenchmarkEnvironment.SEED);
+		List<String> flatDecisions = decide(flatLearner, index, DECISIONS);
+		System.out.printf("Same decisions: %s%n",
+				mapDecisions.equals(flatDecisions));
+		// Throughput
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			run(mapLearner, index);
+			run(flatLearner, index);
+		}
+		double mapRate = 0;
+		double flatRate = 0;
+		for (int i = 0; i < MEASURED_ROUNDS; i++) {
+			mapRate += run(mapLearner, index);
+			flatRate += run(flatLearner, index);
+		}
+		System.out.printf("%-8s %14.0f decisions/s%n", "map",
+				mapRate / MEASURED_ROUNDS);
+		System.out.printf("%-8s %14.0f decisions/s%n", "flat",
+				flatRate / MEASURED_ROUNDS);
+	}
+
+	/**
+	 * Measure retained heap per learner
+	 * 
+	 * @param factory Learner factory
+	 */
+	private static long measureHeap(LearnerFactory factory) {
+		Object[] learners = new Object[LEARNERS];
+		long before = usedHeap();
+		for (int i = 0; i < LEARNERS; i++) {
+			learners[i] = factory.create();
+		}
+		long after = usedHeap();
+		if (learners[LEARNERS - 1] == null) {
+			return 0;
+		}
+		return (after - before) / LEARNERS;
+	}
+
+	/**
+	 * Get used heap after collecting garbage (unit: bytes)
+	 */
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	/**
+	 * Take decisions and report them. Every decision moves the learner to its
+	 * destination and rewards it with a reproducible value.
+	 * 
+	 * @param learner   Learner
+	 * @param index     Learning index
+	 * @param decisions Decisions
+	 */
+	private static List<String> decide(Learner learner,
+			LearningIndex index, int decisions) {
+		List<String> destinations = new ArrayList<>();
+		String location = index.getStateId(0);
+		for (int i = 0; i < decisions; i++) {
+			String destination = learner.selectAction(location);
+			learner.updateLearning(destination, reward(i));
+			destinations.add(destination);
+			location = destination;
+		}
+		return destinations;
+	}
+
+	/**
+	 * Run one round of decisions. It returns decisions per second.
+	 * 
+	 * @param learner Learner
+	 * @param index   Learning index
+	 */
+	private static double run(Learner learner, LearningIndex index) {
+		String location = index.getStateId(0);
+		long start = System.nanoTime();
+		for (int i = 0; i < DECISIONS; i++) {
+			String destination = learner.selectAction(location);
+			learner.updateLearning(destination, reward(i));
+			location = destination;
+		}
+		return DECISIONS / ((System.nanoTime() - start) / 1e9);
+	}
+
+	/**
+	 * Reproducible reward
+	 * 
+	 * @param i Decision number
+	 */
+	private static double reward(int i) {
+		return 0.5 - (i % 7) / 7.0;
+	}
+
+	/**
+	 * Learner factory
+	 */
+	private interface LearnerFactory {
+
+		/**
+		 * Create learner
+		 */
+		Object create();
+
+	}
+
+	/**
+	 * Learner that takes decisions
+	 */
+	private interface Learner {
+
+		/**
+		 * Select action
+		 * 
+		 * @param currentLocation Current location
+		 */
+		String selectAction(String currentLocation);
+
+		/**
+		 * Update learning
+		 * 
+		 * @param newState New state
+		 * @param reward   Reward
+		 */
+		void updateLearning(String newState, double reward);
+
+	}
+
+	/**
+	 * Learner over a learning mechanism
+	 */
+	private static class MechanismLearner implements Learner {
+
+		/**
+		 * Learning mechanism
+		 */
+		private LearningMechanism mechanism;
+
+		/**
+		 * Create a new learner over a learning mechanism
+		 * 
+		 * @param mechanism Learning mechanism
+		 */
+		MechanismLearner(LearningMechanism mechanism) {
+			this.mechanism = mechanism;
+		}
+
+		/**
+		 * Select action
+		 * 
+		 * @param currentLocation Current location
+		 */
+		@Override
+		public String selectAction(String currentLocation) {
+			return this.mechanism.selectAction(currentLocation);
+		}
+
+		/**
+		 * Update learning
+		 * 
+		 * @param newState New state
+		 * @param reward   Reward
+		 */
+		@Override
+		public void updateLearning(String newState, double reward) {
+			this.mechanism.updateLearning(newState, reward);
+		}
+
+	}
+
+	/**
+	 * Q-learning on a map of boxed pairs, as learners used to store Q-values
+	 */
+	private static class MapQLearner implements Learner {
+
+		/**
+		 * Simulation config
+		 */
+		private SimulationConfig config;
+
+		/**
+		 * Q-values for state-action pairs
+		 */
+		private Map<String, List<Pair<String, Double>>> qValues;
+
+		/**
+		 * Last state
+		 */
+		private String lastState;
+
+		/**
+		 * Last action
+		 */
+		private String lastAction;
+
+		/**
+		 * Create a new map-based Q-learner
+		 * 
+		 * @param config             Simulation config
+		 * @param teachingFacilities Teaching facilities
+		 * @param sharedAreas        Shared areas
+		 * @param eatingPlaces       Eating places
+		 */
+		MapQLearner(SimulationConfig config,
+				Map<String, GISPolygon> teachingFacilities,
+				Map<String, GISPolygon> sharedAreas,
+				Map<String, GISPolygon> eatingPlaces) {
+			this.config = config;
+			double min = config.getMinimumInitialQValue();
+			double max = config.getMaximumInitialQValue();
+			this.qValues = new HashMap<>();
+			for (String teachingFacility : teachingFacilities.keySet()) {
+				List<Pair<String, Double>> destinations = new ArrayList<>();
+				for (String sharedArea : sharedAreas.keySet()) {
+					destinations.add(new Pair<>(sharedArea,
+							RandomHelper.nextDoubleFromTo(min, max)));
+				}
+				for (String eatingPlace : eatingPlaces.keySet()) {
+					destinations.add(new Pair<>(eatingPlace,
+							RandomHelper.nextDoubleFromTo(min, max)));
+				}
+				this.qValues.put(teachingFacility, destinations);
+			}
+			for (String sharedArea : sharedAreas.keySet()) {
+				List<Pair<String, Double>> destinations = new ArrayList<>();
+				for (String eatingPlace : eatingPlaces.keySet()) {
+					destinations.add(new Pair<>(eatingPlace,
+							RandomHelper.nextDoubleFromTo(min, max)));
+				}
+				for (String nextSharedArea : sharedAreas.keySet()) {
+					if (!sharedArea.equals(nextSharedArea)) {
+						destinations.add(new Pair<>(nextSharedArea,
+								RandomHelper.nextDoubleFromTo(min, max)));
+					}
+				}
+				this.qValues.put(sharedArea, destinations);
+			}
+			for (String eatingPlace : eatingPlaces.keySet()) {
+				List<Pair<String, Double>> destinations = new ArrayList<>();
+				for (String sharedArea : sharedAreas.keySet()) {
+					destinations.add(new Pair<>(sharedArea,
+							RandomHelper.nextDoubleFromTo(min, max)));
+				}
+				this.qValues.put(eatingPlace, destinations);
+			}
+		}
+
+		/**
+		 * Select action
+		 * 
+		 * @param currentLocation Current location
+		 */
+		@Override
+		public String selectAction(String currentLocation) {
+			this.lastState = currentLocation;
+			List<Pair<String, Double>> destinations = this.qValues
+					.get(currentLocation);
+			Pair<String, Double> selectedDestination = null;
+			double r = RandomHelper.nextDoubleFromTo(0, 1);
+			if (r < 1 - this.config.getEpsilon()) {
+				double topValue = Double.NEGATIVE_INFINITY;
+				List<Pair<String, Double>> ties = new ArrayList<>();
+				for (Pair<String, Double> destination : destinations) {
+					double qValue = destination.getSecond();
+					if (qValue > topValue) {
+						topValue = qValue;
+						ties.clear();
+						ties.add(destination);
+					} else if (qValue == topValue) {
+						ties.add(destination);
+					}
+				}
+				int index = RandomHelper.nextIntFromTo(0, ties.size() - 1);
+				selectedDestination = ties.get(index);
+			} else {
+				int index = RandomHelper.nextIntFromTo(0,
+						destinations.size() - 1);
+				selectedDestination = destinations.get(index);
+			}
+			this.lastAction = selectedDestination.getFirst();
+			return this.lastAction;
+		}
+
+		/**
+		 * Update learning
+		 * 
+		 * @param newState New state
+		 * @param reward   Reward
+		 */
+		@Override
+		public void updateLearning(String newState, double reward) {
+			if (this.lastState == null) {
+				return;
+			}
+			double maxQ = Double.NEGATIVE_INFINITY;
+			for (Pair<String, Double> value : this.qValues.get(newState)) {
+				maxQ = Math.max(maxQ, value.getSecond());
+			}
+			for (Pair<String, Double> value : this.qValues
+					.get(this.lastState)) {
+				if (value.getFirst().equals(this.lastAction)) {
+					double q = value.getSecond();
+					q = q + this.config.getLearningRate() * (reward
+							+ this.config.getDiscountFactor() * maxQ - q);
+					value.setSecond(q);
+				}
+			}
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.opengis.feature.simple.SimpleFeature;
+import com.vividsolutions.jts.geom.Geometry;
+import config.SourcePaths;
+import datasource.Reader;
+import gis.GISPointSampler;
+import repast.simphony.gis.util.GeometryUtil;
+
+public final class PointSamplingBenchmark {
+
+	/**
+	 * Samples per geometry
+	 */
+	private static final int SAMPLES = 1000;
+
+	/**
+	 * Warm-up iterations
+	 */
+	private static final int WARMUP_ITERATIONS = 3;
+
+	/**
+	 * Measured iterations
+	 */
+	private static final int MEASURED_ITERATIONS = 10;
+
+	/**
+	 * Shapefiles
+	 */
+	private static final String[] SHAPEFILES = {
+			SourcePaths.TEACHING_FACILITIES_GEOMETRY_SHAPEFILE,
+			SourcePaths.SHARED_AREAS_GEOMETRY_SHAPEFILE,
+			SourcePaths.EATING_PLACES_GEOMETRY_SHAPEFILE,
+			SourcePaths.OTHER_FACILITIES_GEOMETRY_SHAPEFILE,
+			SourcePaths.INOUTS_GEOMETRY_SHAPEFILE,
+			SourcePaths.VEHICLE_INOUTS_GEOMETRY_SHAPEFILE,
+			SourcePaths.PARKING_LOTS_GEOMETRY_SHAPEFILE,
+			SourcePaths.TRANSIT_AREAS_GEOMETRY_SHAPEFILE };
+
+	/**
+	 * Private constructor
+	 */
+	private PointSamplingBenchmark() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Report time to sample random points from the campus polygons, by
+	 * rejection sampling and by triangulation. It must be run from the
+	 * project directory.
+	 * 
+	 * @param args Arguments
+	 */
+	public static void main(String[] args) {
+		List<Geometry> geometries = new ArrayList<>();
+		for (String shapefile : SHAPEFILES) {
+			for (SimpleFeature feature : Reader
+					.loadGeometryFromShapefile(shapefile)) {
+				geometries.add((Geometry) feature.getDefaultGeometry());
+			}
+		}
+		System.out.printf("Geometries: %d%n", geometries.size());
+		long start = System.nanoTime();
+		List<GISPointSampler> samplers = new ArrayList<>();
+		for (Geometry geometry : geometries) {
+			samplers.add(new GISPointSampler(geometry));
+		}
+		double millis = (System.nanoTime() - start) / 1e6;
+		System.out.printf("%-20s %10.3f ms%n", "Triangulation", millis);
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			sampleByRejection(geometries);
+			sampleByTriangulation(samplers);
+		}
+		start = System.nanoTime();
+		for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+			sampleByRejection(geometries);
+		}
+		report("Rejection", start);
+		start = System.nanoTime();
+		for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+			sampleByTriangulation(samplers);
+		}
+		report("Triangulation", start);
+	}
+
+	/**
+	 * Sample points by rejection
+	 * 
+	 * @param geometries Geometries
+	 */
+	private static void sampleByRejection(List<Geometry> geometries) {
+		for (Geometry geometry : geometries) {
+			for (int i = 0; i < SAMPLES; i++) {
+				GeometryUtil.generateRandomPointsInPolygon(geometry, 1);
+			}
+		}
+	}
+
+	/**
+	 * Sample points by triangulation
+	 * 
+	 * @param samplers Point samplers
+	 */
+	private static void sampleByTriangulation(List<GISPointSampler> samplers) {
+		for (GISPointSampler sampler : samplers) {
+			if (sampler.isEmpty()) {
+				continue;
+			}
+			for (int i = 0; i < SAMPLES; i++) {
+				sampler.sample();
+			}
+		}
+	}
+
+	/**
+	 * Report mean time per sample
+	 * 
+	 * @param name  Sampling method
+	 * @param start Start time (unit: nanoseconds)
+	 */
+	private static void report(String name, long start) {
+		double nanos = (double) (System.nanoTime() - start)
+				/ MEASURED_ITERATIONS / SAMPLES;
+		System.out.printf("%-20s %10.3f ns per sample per geometry%n", name,
+				nanos);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import config.SourcePaths;
+import datasource.Reader;
+import gis.GISPolygon;
+import model.learning.LearningFactory;
+import model.learning.LearningIndex;
+import model.learning.LearningMechanism;
+import model.learning.LearningStyle;
+import model.learning.MeanFieldTrainer;
+import model.learning.SharedQTablePool;
+import repast.simphony.parameter.DefaultParameters;
+import simulation.SimulationConfig;
+
+public final class PreTrainingBenchmark {
+
+	/**
+	 * Learners, as many as students and staffers of the batch sweep
+	 */
+	private static final int LEARNERS = 10201;
+
+	/**
+	 * Maximum number of rounds
+	 */
+	private static final int MAX_ROUNDS = 5000;
+
+	/**
+	 * Private constructor
+	 */
+	private PreTrainingBenchmark() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Report rounds and time to pre-train a population with every learning
+	 * style until occupancy converges. It must be run from the project
+	 * directory.
+	 * 
+	 * @param args Arguments
+	 */
+	public static void main(String[] args) {
+		DefaultParameters parameters = BenchmarkEnvironment.init();
+		Map<String, GISPolygon> teachingFacilities = Reader
+				.readFacilityAttributesDatabase(
+						SourcePaths.TEACHING_FACILITIES_ATTRIBUTES_DATABASE);
+		Map<String, GISPolygon> sharedAreas = Reader
+				.readFacilityAttributesDatabase(
+						SourcePaths.SHARED_AREAS_ATTRIBUTES_DATABASE);
+		Map<String, GISPolygon> eatingPlaces = Reader
+				.readFacilityAttributesDatabase(
+						SourcePaths.EATING_PLACES_ATTRIBUTES_DATABASE);
+		LearningIndex index = new LearningIndex(teachingFacilities,
+				sharedAreas, eatingPlaces);
+		String[] styles = { "Q-learning", "Bandits", "Shared Q-learning",
+				"Cohort Q-learning" };
+		for (String style : styles) {
+			parameters.setValue("learningStyle", style);
+			SimulationConfig config = SimulationConfig.snapshot();
+			LearningStyle learningStyle = config.getLearningStyle();
+			SharedQTablePool tables = new SharedQTablePool(config, index);
+			List<LearningMechanism> learners = new ArrayList<>();
+			for (int i = 0; i < LEARNERS; i++) {
+				String cohort = i < LEARNERS - 200 ? "students" : "staffers";
+				learners.add(LearningFactory.makeLearningMechanism(
+						learningStyle, config, index, tables, cohort));
+			}
+			MeanFieldTrainer trainer = new MeanFieldTrainer(config, index,
+					teachingFacilities, sharedAreas, eatingPlaces);
+			long start = System.nanoTime();
+			int rounds = trainer.train(learners, MAX_ROUNDS);
+			double seconds = (System.nanoTime() - start) / 1e9;
+			System.out.printf("%-18s %6d rounds %8.3f s%n", style, rounds,
+					seconds);
+		}
+	}
+
+}
\ No newline at end of file
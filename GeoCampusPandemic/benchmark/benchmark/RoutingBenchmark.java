@@ -0,0 +1,154 @@
+package benchmark;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import java.io.File;
+import java.io.IOException;
+import config.SourcePaths;
+import datasource.Reader;
+import datasource.RouteCache;
+import model.util.Heuristics;
+import model.util.RouteTable;
+import model.util.RoutingAlgorithm;
+
+public final class RoutingBenchmark {
+
+	/**
+	 * Warm-up iterations
+	 */
+	private static final int WARMUP_ITERATIONS = 5;
+
+	/**
+	 * Measured iterations
+	 */
+	private static final int MEASURED_ITERATIONS = 20;
+
+	/**
+	 * Distance tolerance to compare route tables (unit: meters)
+	 */
+	private static final double DISTANCE_TOLERANCE = 1e-6;
+
+	/**
+	 * Private constructor
+	 */
+	private RoutingBenchmark() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Report startup time of every routing algorithm. It must be run from the
+	 * project directory.
+	 * 
+	 * @param args Arguments. An optional path to a routes database.
+	 */
+	public static void main(String[] args) throws IOException {
+		String filename = args.length > 0 ? args[0]
+				: SourcePaths.ROUTES_DATABASE;
+		Graph<String, DefaultWeightedEdge> routes = Reader
+				.readRoutesDatabase(filename);
+		System.out.printf("Routes: %d vertexes, %d edges%n",
+				routes.vertexSet().size(), routes.edgeSet().size());
+		RouteTable reference = Heuristics.findShortestPaths(routes,
+				RoutingAlgorithm.DIJKSTRA);
+		for (RoutingAlgorithm algorithm : RoutingAlgorithm.values()) {
+			RouteTable routeTable = null;
+			for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+				routeTable = Heuristics.findShortestPaths(routes, algorithm);
+			}
+			long start = System.nanoTime();
+			for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+				routeTable = Heuristics.findShortestPaths(routes, algorithm);
+			}
+			double millis = (System.nanoTime() - start) / 1e6
+					/ MEASURED_ITERATIONS;
+			System.out.printf("%-20s %10.3f ms  distances %s  routes %s%n",
+					algorithm, millis,
+					matches(reference, routeTable) ? "ok" : "MISMATCH",
+					sameRoutes(reference, routeTable) ? "ok" : "MISMATCH");
+		}
+		reportCache(filename, reference);
+	}
+
+	/**
+	 * Report time to load the route table from the routes cache, including
+	 * the checksum of the routes database
+	 * 
+	 * @param filename  Routes database
+	 * @param reference Reference route table
+	 */
+	private static void reportCache(String filename, RouteTable reference)
+			throws IOException {
+		File cache = File.createTempFile("routes", ".bin");
+		cache.deleteOnExit();
+		long checksum = RouteCache.checksum(filename);
+		RouteCache.write(cache.getPath(), checksum, RoutingAlgorithm.DIJKSTRA,
+				reference);
+		RouteTable routeTable = null;
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			routeTable = RouteCache.read(cache.getPath(),
+					RouteCache.checksum(filename), RoutingAlgorithm.DIJKSTRA);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+			routeTable = RouteCache.read(cache.getPath(),
+					RouteCache.checksum(filename), RoutingAlgorithm.DIJKSTRA);
+		}
+		double millis = (System.nanoTime() - start) / 1e6
+				/ MEASURED_ITERATIONS;
+		boolean loaded = routeTable != null;
+		System.out.printf("%-20s %10.3f ms  distances %s  routes %s%n",
+				"CACHE", millis,
+				loaded && matches(reference, routeTable) ? "ok" : "MISMATCH",
+				loaded && sameRoutes(reference, routeTable) ? "ok"
+						: "MISMATCH");
+	}
+
+	/**
+	 * Checks whether two route tables have the same distances
+	 * 
+	 * @param expected Expected route table
+	 * @param actual   Actual route table
+	 */
+	private static boolean matches(RouteTable expected, RouteTable actual) {
+		int n = expected.getVertexCount();
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				double delta = Math.abs(
+						expected.getDistance(i, j) - actual.getDistance(i, j));
+				if (delta > DISTANCE_TOLERANCE) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether two route tables take the same hops from every source
+	 * to every sink
+	 * 
+	 * @param expected Expected route table
+	 * @param actual   Actual route table
+	 */
+	private static boolean sameRoutes(RouteTable expected, RouteTable actual) {
+		int n = expected.getVertexCount();
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				int expectedHop = i;
+				int actualHop = i;
+				for (int hops = 0; hops < n && expectedHop != j; hops++) {
+					expectedHop = expected.getNextHop(expectedHop, j);
+					actualHop = actual.getNextHop(actualHop, j);
+					if (expectedHop != actualHop) {
+						return false;
+					}
+					if (expectedHop == RouteTable.NO_ROUTE) {
+						break;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+}
\ No newline at end of file
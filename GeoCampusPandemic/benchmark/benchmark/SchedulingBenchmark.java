@@ -0,0 +1,137 @@
+package benchmark;
+
+import repast.simphony.engine.schedule.ISchedule;
+import repast.simphony.engine.schedule.Schedule;
+import repast.simphony.engine.schedule.ScheduleParameters;
+
+public final class SchedulingBenchmark {
+
+	/**
+	 * Events per round
+	 */
+	private static final int EVENTS = 1000000;
+
+	/**
+	 * Distinct ticks per round
+	 */
+	private static final int TICKS = 1000;
+
+	/**
+	 * Warm-up rounds
+	 */
+	private static final int WARMUP_ROUNDS = 3;
+
+	/**
+	 * Measured rounds
+	 */
+	private static final int MEASURED_ROUNDS = 5;
+
+	/**
+	 * Private constructor
+	 */
+	private SchedulingBenchmark() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Report events per second of reflective and typed scheduling. Every
+	 * event schedules and executes a one-time relocation with one argument,
+	 * as movement does.
+	 * 
+	 * @param args Arguments
+	 */
+	public static void main(String[] args) {
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			runReflective();
+			runTyped();
+		}
+		double reflective = 0;
+		double typed = 0;
+		for (int i = 0; i < MEASURED_ROUNDS; i++) {
+			reflective += runReflective();
+			typed += runTyped();
+		}
+		reflective /= MEASURED_ROUNDS;
+		typed /= MEASURED_ROUNDS;
+		System.out.printf("%-12s %14.0f events/s%n", "reflective",
+				reflective);
+		System.out.printf("%-12s %14.0f events/s%n", "IAction", typed);
+		System.out.printf("%-12s %14.2fx%n", "speedup", typed / reflective);
+	}
+
+	/**
+	 * Run a round of events scheduled by method name. It returns the events
+	 * per second.
+	 */
+	private static double runReflective() {
+		Walker walker = new Walker();
+		Object destination = new Object();
+		ISchedule schedule = new Schedule();
+		long start = System.nanoTime();
+		for (int i = 0; i < EVENTS; i++) {
+			ScheduleParameters params = ScheduleParameters
+					.createOneTime(1 + i % TICKS);
+			schedule.schedule(params, walker, "relocate", destination);
+		}
+		for (int i = 0; i < TICKS; i++) {
+			schedule.execute();
+		}
+		return eventsPerSecond(start, walker);
+	}
+
+	/**
+	 * Run a round of events scheduled as actions. It returns the events per
+	 * second.
+	 */
+	private static double runTyped() {
+		Walker walker = new Walker();
+		Object destination = new Object();
+		ISchedule schedule = new Schedule();
+		long start = System.nanoTime();
+		for (int i = 0; i < EVENTS; i++) {
+			ScheduleParameters params = ScheduleParameters
+					.createOneTime(1 + i % TICKS);
+			schedule.schedule(params, () -> walker.relocate(destination));
+		}
+		for (int i = 0; i < TICKS; i++) {
+			schedule.execute();
+		}
+		return eventsPerSecond(start, walker);
+	}
+
+	/**
+	 * Compute events per second
+	 * 
+	 * @param start  Start time (unit: nanoseconds)
+	 * @param walker Walker that received the events
+	 */
+	private static double eventsPerSecond(long start, Walker walker) {
+		double seconds = (System.nanoTime() - start) / 1e9;
+		if (walker.relocations != EVENTS) {
+			throw new IllegalStateException("Missing events");
+		}
+		return EVENTS / seconds;
+	}
+
+	/**
+	 * Target of scheduled events
+	 */
+	public static class Walker {
+
+		/**
+		 * Relocations count
+		 */
+		private int relocations;
+
+		/**
+		 * Relocate
+		 * 
+		 * @param destination Destination
+		 */
+		public void relocate(Object destination) {
+			this.relocations++;
+		}
+
+	}
+
+}
\ No newline at end of file
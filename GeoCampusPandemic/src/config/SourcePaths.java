@@ -62,6 +62,21 @@ public class SourcePaths {
 	 */
 	public static final String ROUTES_DATABASE = "./data/databases/routes.csv";
 
+	/**
+	 * Routes cache
+	 */
+	public static final String ROUTES_CACHE = "./data/cache/routes.bin";
+
+	/**
+	 * Geometries cache directory
+	 */
+	public static final String GEOMETRY_CACHE_DIRECTORY = "./data/cache/geometries";
+
+	/**
+	 * Learned policies, unless the run sets another policies file
+	 */
+	public static final String POLICIES = "./data/policies/policies.bin";
+
 	/**
 	 * Teaching facilities attributes database
 	 */
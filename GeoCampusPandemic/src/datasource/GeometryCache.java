@@ -0,0 +1,230 @@
+package datasource;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.io.ParseException;
+import com.vividsolutions.jts.io.WKBReader;
+import com.vividsolutions.jts.io.WKBWriter;
+
+public final class GeometryCache {
+
+	/**
+	 * Magic number of geometry cache files
+	 */
+	private static final int MAGIC_NUMBER = 0x47454F31;
+
+	/**
+	 * Format version
+	 */
+	private static final int FORMAT_VERSION = 1;
+
+	/**
+	 * Read buffer size (unit: bytes)
+	 */
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Shapefile extension
+	 */
+	private static final String SHAPEFILE_EXTENSION = ".shp";
+
+	/**
+	 * Attributes file extension of a shapefile
+	 */
+	private static final String ATTRIBUTES_EXTENSION = ".dbf";
+
+	/**
+	 * Cache file extension
+	 */
+	private static final String CACHE_EXTENSION = ".bin";
+
+	/**
+	 * Private constructor
+	 */
+	private GeometryCache() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Get the cache file of a shapefile within a cache directory
+	 * 
+	 * @param directory Cache directory
+	 * @param shapefile Shapefile name
+	 */
+	public static String getCacheFile(String directory, String shapefile) {
+		String name = Paths.get(shapefile).getFileName().toString();
+		if (name.endsWith(SHAPEFILE_EXTENSION)) {
+			name = name.substring(0,
+					name.length() - SHAPEFILE_EXTENSION.length());
+		}
+		return Paths.get(directory, name + CACHE_EXTENSION).toString();
+	}
+
+	/**
+	 * Compute the checksum of a shapefile, over its geometries and its
+	 * attributes. It returns -1 if a file can't be read.
+	 * 
+	 * @param shapefile Shapefile name
+	 */
+	public static long checksum(String shapefile) {
+		String attributesFile = shapefile;
+		if (shapefile.endsWith(SHAPEFILE_EXTENSION)) {
+			attributesFile = shapefile.substring(0,
+					shapefile.length() - SHAPEFILE_EXTENSION.length())
+					+ ATTRIBUTES_EXTENSION;
+		}
+		CRC32 crc = new CRC32();
+		for (String filename : new String[] { shapefile, attributesFile }) {
+			try (InputStream input = Files
+					.newInputStream(Paths.get(filename))) {
+				byte[] buffer = new byte[BUFFER_SIZE];
+				int read = input.read(buffer);
+				while (read != -1) {
+					crc.update(buffer, 0, read);
+					read = input.read(buffer);
+				}
+			} catch (IOException ioe) {
+				ioe.printStackTrace();
+				return -1;
+			}
+		}
+		return crc.getValue();
+	}
+
+	/**
+	 * Read geometries by polygon id from cache, in the order of the
+	 * shapefile. It returns null if the cache doesn't exist or it doesn't
+	 * match the checksum.
+	 * 
+	 * @param filename Cache file name
+	 * @param checksum Checksum of the shapefile
+	 */
+	public static Map<String, Geometry> read(String filename, long checksum) {
+		if (checksum == -1) {
+			return null;
+		}
+		Path path = Paths.get(filename);
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+			if (buffer.getInt() != MAGIC_NUMBER
+					|| buffer.getInt() != FORMAT_VERSION
+					|| buffer.getLong() != checksum) {
+				return null;
+			}
+			WKBReader reader = new WKBReader(new GeometryFactory());
+			Map<String, Geometry> geometries = new LinkedHashMap<>();
+			int geometryCount = buffer.getInt();
+			for (int i = 0; i < geometryCount; i++) {
+				byte[] id = new byte[buffer.getShort()];
+				buffer.get(id);
+				byte[] wkb = new byte[buffer.getInt()];
+				buffer.get(wkb);
+				geometries.put(new String(id, StandardCharsets.UTF_8),
+						reader.read(wkb));
+			}
+			return geometries;
+		} catch (NoSuchFileException nsfe) {
+			return null;
+		} catch (IOException | ParseException | RuntimeException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	/**
+	 * Write geometries by polygon id to cache. The cache is written to a
+	 * temporary file first and then moved into place.
+	 * 
+	 * @param filename   Cache file name
+	 * @param checksum   Checksum of the shapefile
+	 * @param geometries Geometries by polygon id
+	 */
+	public static void write(String filename, long checksum,
+			Map<String, Geometry> geometries) {
+		if (checksum == -1) {
+			return;
+		}
+		Path path = Paths.get(filename).toAbsolutePath();
+		Path temporaryPath = null;
+		try {
+			Files.createDirectories(path.getParent());
+			temporaryPath = Files.createTempFile(path.getParent(),
+					path.getFileName().toString(), null);
+			try (OutputStream output = Files.newOutputStream(temporaryPath);
+					DataOutputStream data = new DataOutputStream(
+							new BufferedOutputStream(output))) {
+				writeGeometries(data, checksum, geometries);
+			}
+			try {
+				Files.move(temporaryPath, path,
+						StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException amnse) {
+				Files.move(temporaryPath, path,
+						StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException ioe) {
+			ioe.printStackTrace();
+		} finally {
+			deleteTemporaryFile(temporaryPath);
+		}
+	}
+
+	/**
+	 * Delete a temporary file left behind by a failed write. Nothing is done
+	 * if it was moved into place.
+	 * 
+	 * @param temporaryPath Temporary file. It can be null.
+	 */
+	private static void deleteTemporaryFile(Path temporaryPath) {
+		if (temporaryPath == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(temporaryPath);
+		} catch (IOException ioe) {
+			ioe.printStackTrace();
+		}
+	}
+
+	/**
+	 * Write geometries as well-known binary
+	 * 
+	 * @param data       Data output
+	 * @param checksum   Checksum of the shapefile
+	 * @param geometries Geometries by polygon id
+	 */
+	private static void writeGeometries(DataOutputStream data, long checksum,
+			Map<String, Geometry> geometries) throws IOException {
+		WKBWriter writer = new WKBWriter();
+		data.writeInt(MAGIC_NUMBER);
+		data.writeInt(FORMAT_VERSION);
+		data.writeLong(checksum);
+		data.writeInt(geometries.size());
+		for (Map.Entry<String, Geometry> entry : geometries.entrySet()) {
+			byte[] id = entry.getKey().getBytes(StandardCharsets.UTF_8);
+			data.writeShort(id.length);
+			data.write(id);
+			byte[] wkb = writer.write(entry.getValue());
+			data.writeInt(wkb.length);
+			data.write(wkb);
+		}
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,245 @@
+package datasource;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import model.learning.LearningIndex;
+import model.learning.LearningMechanism;
+import model.learning.LearningStyle;
+import model.learning.SharedQTable;
+import model.learning.SharedQTablePool;
+
+public final class PolicyStore {
+
+	/**
+	 * Magic number of policy files
+	 */
+	private static final int MAGIC_NUMBER = 0x504C4331;
+
+	/**
+	 * Format version
+	 */
+	private static final int FORMAT_VERSION = 1;
+
+	/**
+	 * Private constructor
+	 */
+	private PolicyStore() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Compute the fingerprint of a learning index. Policies can only be read
+	 * back over an index with the same states, actions and arms.
+	 * 
+	 * @param index Learning index
+	 */
+	public static long fingerprint(LearningIndex index) {
+		CRC32 crc = new CRC32();
+		for (int i = 0; i < index.getStateCount(); i++) {
+			update(crc, index.getStateId(i));
+			crc.update(index.getRowEnd(i) - index.getRowStart(i));
+		}
+		for (int i = 0; i < index.getActionCount(); i++) {
+			update(crc, index.getActionId(i));
+		}
+		for (int i = 0; i < index.getArmCount(); i++) {
+			update(crc, index.getArmId(i));
+		}
+		return crc.getValue();
+	}
+
+	/**
+	 * Read learned policies into learners and shared Q-tables. The whole file
+	 * is read and validated before any value is applied, so learners and
+	 * tables are left untouched on failure. It returns false if the file
+	 * doesn't exist, it is truncated or it doesn't match the learning index,
+	 * the learning style, the shared Q-tables and the number of learners.
+	 * 
+	 * @param filename      Policy file name
+	 * @param index         Learning index
+	 * @param learningStyle Learning style
+	 * @param learners      Learners
+	 * @param tables        Shared Q-tables
+	 */
+	public static boolean read(String filename, LearningIndex index,
+			LearningStyle learningStyle, List<LearningMechanism> learners,
+			SharedQTablePool tables) {
+		Path path = Paths.get(filename);
+		try (InputStream input = Files.newInputStream(path);
+				DataInputStream data = new DataInputStream(
+						new BufferedInputStream(input))) {
+			if (data.readInt() != MAGIC_NUMBER
+					|| data.readInt() != FORMAT_VERSION
+					|| data.readLong() != fingerprint(index)
+					|| data.readInt() != learningStyle.ordinal()) {
+				return false;
+			}
+			Map<SharedQTable, double[]> tableValues = new LinkedHashMap<>();
+			int tableCount = data.readInt();
+			for (int i = 0; i < tableCount; i++) {
+				SharedQTable table = tables.getTables().get(data.readUTF());
+				int slotCount = data.readInt();
+				if (table == null || slotCount != table.getSlotCount()) {
+					return false;
+				}
+				double[] values = new double[slotCount];
+				for (int slot = 0; slot < slotCount; slot++) {
+					values[slot] = data.readDouble();
+				}
+				tableValues.put(table, values);
+			}
+			if (data.readInt() != learners.size()) {
+				return false;
+			}
+			for (LearningMechanism learner : learners) {
+				learner.readValues(data);
+			}
+			applyPolicies(tableValues, learners);
+			return true;
+		} catch (NoSuchFileException nsfe) {
+			return false;
+		} catch (IOException ioe) {
+			ioe.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Apply learned policies read and validated
+	 * 
+	 * @param tableValues Values by shared Q-table
+	 * @param learners    Learners
+	 */
+	private static void applyPolicies(Map<SharedQTable, double[]> tableValues,
+			List<LearningMechanism> learners) {
+		for (Map.Entry<SharedQTable, double[]> entry : tableValues
+				.entrySet()) {
+			SharedQTable table = entry.getKey();
+			double[] values = entry.getValue();
+			for (int slot = 0; slot < values.length; slot++) {
+				table.set(slot, values[slot]);
+			}
+		}
+		for (LearningMechanism learner : learners) {
+			learner.applyValues();
+		}
+	}
+
+	/**
+	 * Write learned policies of learners and shared Q-tables. The file is
+	 * written to a temporary file first and then moved into place.
+	 * 
+	 * @param filename      Policy file name
+	 * @param index         Learning index
+	 * @param learningStyle Learning style
+	 * @param learners      Learners
+	 * @param tables        Shared Q-tables
+	 */
+	public static void write(String filename, LearningIndex index,
+			LearningStyle learningStyle, List<LearningMechanism> learners,
+			SharedQTablePool tables) {
+		Path path = Paths.get(filename).toAbsolutePath();
+		Path temporaryPath = null;
+		try {
+			Files.createDirectories(path.getParent());
+			temporaryPath = Files.createTempFile(path.getParent(),
+					path.getFileName().toString(), null);
+			try (OutputStream output = Files.newOutputStream(temporaryPath);
+					DataOutputStream data = new DataOutputStream(
+							new BufferedOutputStream(output))) {
+				writePolicies(data, index, learningStyle, learners, tables);
+			}
+			try {
+				Files.move(temporaryPath, path,
+						StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException amnse) {
+				Files.move(temporaryPath, path,
+						StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException ioe) {
+			ioe.printStackTrace();
+		} finally {
+			deleteTemporaryFile(temporaryPath);
+		}
+	}
+
+	/**
+	 * Delete a temporary file left behind by a failed write. Nothing is done
+	 * if it was moved into place.
+	 * 
+	 * @param temporaryPath Temporary file. It can be null.
+	 */
+	private static void deleteTemporaryFile(Path temporaryPath) {
+		if (temporaryPath == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(temporaryPath);
+		} catch (IOException ioe) {
+			ioe.printStackTrace();
+		}
+	}
+
+	/**
+	 * Write learned policies
+	 * 
+	 * @param data          Data output
+	 * @param index         Learning index
+	 * @param learningStyle Learning style
+	 * @param learners      Learners
+	 * @param tables        Shared Q-tables
+	 */
+	private static void writePolicies(DataOutputStream data,
+			LearningIndex index, LearningStyle learningStyle,
+			List<LearningMechanism> learners, SharedQTablePool tables)
+			throws IOException {
+		data.writeInt(MAGIC_NUMBER);
+		data.writeInt(FORMAT_VERSION);
+		data.writeLong(fingerprint(index));
+		data.writeInt(learningStyle.ordinal());
+		Map<String, SharedQTable> sharedTables = tables.getTables();
+		data.writeInt(sharedTables.size());
+		for (Map.Entry<String, SharedQTable> entry : sharedTables
+				.entrySet()) {
+			SharedQTable table = entry.getValue();
+			data.writeUTF(entry.getKey());
+			data.writeInt(table.getSlotCount());
+			for (int slot = 0; slot < table.getSlotCount(); slot++) {
+				data.writeDouble(table.get(slot));
+			}
+		}
+		data.writeInt(learners.size());
+		for (LearningMechanism learner : learners) {
+			learner.writeValues(data);
+		}
+	}
+
+	/**
+	 * Update checksum with an id
+	 * 
+	 * @param crc Checksum
+	 * @param id  Id
+	 */
+	private static void update(CRC32 crc, String id) {
+		crc.update(id.getBytes(StandardCharsets.UTF_8));
+		crc.update(0);
+	}
+
+}
\ No newline at end of file
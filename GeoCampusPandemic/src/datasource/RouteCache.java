@@ -0,0 +1,216 @@
+package datasource;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import model.util.RouteTable;
+import model.util.RoutingAlgorithm;
+
+public final class RouteCache {
+
+	/**
+	 * Magic number of route cache files
+	 */
+	private static final int MAGIC_NUMBER = 0x52544331;
+
+	/**
+	 * Format version. Version 2 discards tables cached when automatic
+	 * selection could pick Floyd-Warshall's algorithm.
+	 */
+	private static final int FORMAT_VERSION = 2;
+
+	/**
+	 * Read buffer size (unit: bytes)
+	 */
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Private constructor
+	 */
+	private RouteCache() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Compute the checksum of a file. It returns -1 if the file can't be
+	 * read.
+	 * 
+	 * @param filename File name
+	 */
+	public static long checksum(String filename) {
+		CRC32 crc = new CRC32();
+		try (InputStream input = Files.newInputStream(Paths.get(filename))) {
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int read = input.read(buffer);
+			while (read != -1) {
+				crc.update(buffer, 0, read);
+				read = input.read(buffer);
+			}
+		} catch (IOException ioe) {
+			ioe.printStackTrace();
+			return -1;
+		}
+		return crc.getValue();
+	}
+
+	/**
+	 * Read route table from cache. The file is read in a single pass and
+	 * copied into the primitive arrays of the route table. It returns null if
+	 * the cache doesn't exist or it doesn't match the checksum and the
+	 * routing algorithm.
+	 * 
+	 * @param filename  Cache file name
+	 * @param checksum  Checksum of the routes database
+	 * @param algorithm Routing algorithm
+	 */
+	public static RouteTable read(String filename, long checksum,
+			RoutingAlgorithm algorithm) {
+		if (checksum == -1) {
+			return null;
+		}
+		Path path = Paths.get(filename);
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+			if (buffer.getInt() != MAGIC_NUMBER
+					|| buffer.getInt() != FORMAT_VERSION
+					|| buffer.getLong() != checksum
+					|| buffer.getInt() != algorithm.ordinal()) {
+				return null;
+			}
+			int vertexCount = buffer.getInt();
+			List<String> vertexIds = new ArrayList<>();
+			for (int i = 0; i < vertexCount; i++) {
+				byte[] bytes = new byte[buffer.getShort()];
+				buffer.get(bytes);
+				vertexIds.add(new String(bytes, StandardCharsets.UTF_8));
+			}
+			int size = vertexCount * vertexCount;
+			int[] nextHops = new int[size];
+			double[] hopDistances = new double[size];
+			double[] distances = new double[size];
+			buffer.asIntBuffer().get(nextHops);
+			buffer.position(buffer.position() + size * Integer.BYTES);
+			buffer.asDoubleBuffer().get(hopDistances);
+			buffer.position(buffer.position() + size * Double.BYTES);
+			buffer.asDoubleBuffer().get(distances);
+			return new RouteTable(vertexIds, nextHops, hopDistances,
+					distances);
+		} catch (NoSuchFileException nsfe) {
+			return null;
+		} catch (IOException | RuntimeException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	/**
+	 * Write route table to cache. The cache is written to a temporary file
+	 * first and then moved into place.
+	 * 
+	 * @param filename   Cache file name
+	 * @param checksum   Checksum of the routes database
+	 * @param algorithm  Routing algorithm
+	 * @param routeTable Route table
+	 */
+	public static void write(String filename, long checksum,
+			RoutingAlgorithm algorithm, RouteTable routeTable) {
+		if (checksum == -1) {
+			return;
+		}
+		Path path = Paths.get(filename).toAbsolutePath();
+		Path temporaryPath = null;
+		try {
+			Files.createDirectories(path.getParent());
+			temporaryPath = Files.createTempFile(path.getParent(),
+					path.getFileName().toString(), null);
+			try (OutputStream output = Files.newOutputStream(temporaryPath);
+					DataOutputStream data = new DataOutputStream(
+							new BufferedOutputStream(output))) {
+				writeRouteTable(data, checksum, algorithm, routeTable);
+			}
+			try {
+				Files.move(temporaryPath, path,
+						StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException amnse) {
+				Files.move(temporaryPath, path,
+						StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException ioe) {
+			ioe.printStackTrace();
+		} finally {
+			deleteTemporaryFile(temporaryPath);
+		}
+	}
+
+	/**
+	 * Delete a temporary file left behind by a failed write. Nothing is done
+	 * if it was moved into place.
+	 * 
+	 * @param temporaryPath Temporary file. It can be null.
+	 */
+	private static void deleteTemporaryFile(Path temporaryPath) {
+		if (temporaryPath == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(temporaryPath);
+		} catch (IOException ioe) {
+			ioe.printStackTrace();
+		}
+	}
+
+	/**
+	 * Write route table
+	 * 
+	 * @param data       Data output
+	 * @param checksum   Checksum of the routes database
+	 * @param algorithm  Routing algorithm
+	 * @param routeTable Route table
+	 */
+	private static void writeRouteTable(DataOutputStream data, long checksum,
+			RoutingAlgorithm algorithm, RouteTable routeTable)
+			throws IOException {
+		int vertexCount = routeTable.getVertexCount();
+		data.writeInt(MAGIC_NUMBER);
+		data.writeInt(FORMAT_VERSION);
+		data.writeLong(checksum);
+		data.writeInt(algorithm.ordinal());
+		data.writeInt(vertexCount);
+		for (int i = 0; i < vertexCount; i++) {
+			byte[] bytes = routeTable.getVertexId(i)
+					.getBytes(StandardCharsets.UTF_8);
+			data.writeShort(bytes.length);
+			data.write(bytes);
+		}
+		for (int i = 0; i < vertexCount; i++) {
+			for (int j = 0; j < vertexCount; j++) {
+				data.writeInt(routeTable.getNextHop(i, j));
+			}
+		}
+		for (int i = 0; i < vertexCount; i++) {
+			for (int j = 0; j < vertexCount; j++) {
+				data.writeDouble(routeTable.getHopDistance(i, j));
+			}
+		}
+		for (int i = 0; i < vertexCount; i++) {
+			for (int j = 0; j < vertexCount; j++) {
+				data.writeDouble(routeTable.getDistance(i, j));
+			}
+		}
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,316 @@
+package gis;
+
+import java.util.Arrays;
+import com.vividsolutions.jts.geom.Envelope;
+
+public class GISContactIndex<T> {
+
+	/**
+	 * Earth radius (unit: meters). WGS 84 semi-major axis.
+	 */
+	public static final double EARTH_RADIUS = 6378137;
+
+	/**
+	 * Minimum cell size (unit: meters)
+	 */
+	public static final double MIN_CELL_SIZE = 1.0;
+
+	/**
+	 * Initial slot capacity
+	 */
+	private static final int INITIAL_CAPACITY = 1024;
+
+	/**
+	 * Empty marker for cells and slots
+	 */
+	private static final int EMPTY = -1;
+
+	/**
+	 * Origin longitude (unit: degrees)
+	 */
+	private double originLongitude;
+
+	/**
+	 * Origin latitude (unit: degrees)
+	 */
+	private double originLatitude;
+
+	/**
+	 * Meters per degree of longitude at the origin latitude
+	 */
+	private double metersPerDegreeLongitude;
+
+	/**
+	 * Meters per degree of latitude
+	 */
+	private double metersPerDegreeLatitude;
+
+	/**
+	 * Cell size (unit: meters)
+	 */
+	private double cellSize;
+
+	/**
+	 * Number of columns
+	 */
+	private int columns;
+
+	/**
+	 * Number of rows
+	 */
+	private int rows;
+
+	/**
+	 * First slot of every cell
+	 */
+	private int[] cellHeads;
+
+	/**
+	 * Next slot in the same cell
+	 */
+	private int[] nextSlots;
+
+	/**
+	 * Previous slot in the same cell
+	 */
+	private int[] previousSlots;
+
+	/**
+	 * Cell of every slot
+	 */
+	private int[] slotCells;
+
+	/**
+	 * Projected x coordinate of every slot (unit: meters)
+	 */
+	private double[] slotXs;
+
+	/**
+	 * Projected y coordinate of every slot (unit: meters)
+	 */
+	private double[] slotYs;
+
+	/**
+	 * Member of every slot
+	 */
+	private Object[] members;
+
+	/**
+	 * Slot count
+	 */
+	private int slotCount;
+
+	/**
+	 * Slots found by the last query
+	 */
+	private int[] contacts;
+
+	/**
+	 * Number of slots found by the last query
+	 */
+	private int contactCount;
+
+	/**
+	 * Create a new geo-spatial contact index
+	 * 
+	 * @param bounds   Bounds of the indexed area (unit: degrees)
+	 * @param cellSize Cell size (unit: meters)
+	 */
+	public GISContactIndex(Envelope bounds, double cellSize) {
+		this.originLongitude = bounds.getMinX();
+		this.originLatitude = bounds.getMinY();
+		this.metersPerDegreeLatitude = EARTH_RADIUS * Math.PI / 180;
+		double latitude = Math.toRadians(bounds.centre().y);
+		this.metersPerDegreeLongitude = this.metersPerDegreeLatitude
+				* Math.cos(latitude);
+		this.cellSize = Math.max(cellSize, MIN_CELL_SIZE);
+		double width = bounds.getWidth() * this.metersPerDegreeLongitude;
+		double height = bounds.getHeight() * this.metersPerDegreeLatitude;
+		this.columns = (int) Math.floor(width / this.cellSize) + 1;
+		this.rows = (int) Math.floor(height / this.cellSize) + 1;
+		this.cellHeads = new int[this.columns * this.rows];
+		Arrays.fill(this.cellHeads, EMPTY);
+		this.nextSlots = new int[INITIAL_CAPACITY];
+		this.previousSlots = new int[INITIAL_CAPACITY];
+		this.slotCells = new int[INITIAL_CAPACITY];
+		this.slotXs = new double[INITIAL_CAPACITY];
+		this.slotYs = new double[INITIAL_CAPACITY];
+		this.members = new Object[INITIAL_CAPACITY];
+		this.contacts = new int[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Register a member. It returns the slot assigned to the member. The
+	 * member is not placed in any cell until it is moved.
+	 * 
+	 * @param member Member
+	 */
+	public int register(T member) {
+		if (this.slotCount == this.members.length) {
+			int capacity = this.members.length * 2;
+			this.nextSlots = Arrays.copyOf(this.nextSlots, capacity);
+			this.previousSlots = Arrays.copyOf(this.previousSlots, capacity);
+			this.slotCells = Arrays.copyOf(this.slotCells, capacity);
+			this.slotXs = Arrays.copyOf(this.slotXs, capacity);
+			this.slotYs = Arrays.copyOf(this.slotYs, capacity);
+			this.members = Arrays.copyOf(this.members, capacity);
+		}
+		int slot = this.slotCount++;
+		this.members[slot] = member;
+		this.slotCells[slot] = EMPTY;
+		this.nextSlots[slot] = EMPTY;
+		this.previousSlots[slot] = EMPTY;
+		return slot;
+	}
+
+	/**
+	 * Move a member to a new position
+	 * 
+	 * @param slot      Slot of the member
+	 * @param longitude Longitude (unit: degrees)
+	 * @param latitude  Latitude (unit: degrees)
+	 */
+	public void move(int slot, double longitude, double latitude) {
+		double x = (longitude - this.originLongitude)
+				* this.metersPerDegreeLongitude;
+		double y = (latitude - this.originLatitude)
+				* this.metersPerDegreeLatitude;
+		this.slotXs[slot] = x;
+		this.slotYs[slot] = y;
+		int cell = getRow(y) * this.columns + getColumn(x);
+		if (cell != this.slotCells[slot]) {
+			unlink(slot);
+			link(slot, cell);
+		}
+	}
+
+	/**
+	 * Find the members within a distance of a given member. It returns the
+	 * number of contacts found, which can be retrieved with getContact.
+	 * Contacts are only valid until the next query.
+	 * 
+	 * @param slot     Slot of the member
+	 * @param distance Distance (unit: meters)
+	 */
+	public int findWithin(int slot, double distance) {
+		this.contactCount = 0;
+		if (this.slotCells[slot] == EMPTY) {
+			return 0;
+		}
+		double x = this.slotXs[slot];
+		double y = this.slotYs[slot];
+		double squaredDistance = distance * distance;
+		int minColumn = getColumn(x - distance);
+		int maxColumn = getColumn(x + distance);
+		int minRow = getRow(y - distance);
+		int maxRow = getRow(y + distance);
+		for (int row = minRow; row <= maxRow; row++) {
+			for (int column = minColumn; column <= maxColumn; column++) {
+				int other = this.cellHeads[row * this.columns + column];
+				while (other != EMPTY) {
+					double dx = this.slotXs[other] - x;
+					double dy = this.slotYs[other] - y;
+					if (other != slot
+							&& dx * dx + dy * dy <= squaredDistance) {
+						addContact(other);
+					}
+					other = this.nextSlots[other];
+				}
+			}
+		}
+		return this.contactCount;
+	}
+
+	/**
+	 * Get a contact found by the last query
+	 * 
+	 * @param i Contact index
+	 */
+	@SuppressWarnings("unchecked")
+	public T getContact(int i) {
+		return (T) this.members[this.contacts[i]];
+	}
+
+	/**
+	 * Get cell size (unit: meters)
+	 */
+	public double getCellSize() {
+		return this.cellSize;
+	}
+
+	/**
+	 * Get column for a projected x coordinate. Coordinates outside the bounds
+	 * are clamped to the border cells.
+	 * 
+	 * @param x Projected x coordinate (unit: meters)
+	 */
+	private int getColumn(double x) {
+		int column = (int) Math.floor(x / this.cellSize);
+		return Math.max(0, Math.min(column, this.columns - 1));
+	}
+
+	/**
+	 * Get row for a projected y coordinate. Coordinates outside the bounds are
+	 * clamped to the border cells.
+	 * 
+	 * @param y Projected y coordinate (unit: meters)
+	 */
+	private int getRow(double y) {
+		int row = (int) Math.floor(y / this.cellSize);
+		return Math.max(0, Math.min(row, this.rows - 1));
+	}
+
+	/**
+	 * Link slot to the head of a cell
+	 * 
+	 * @param slot Slot
+	 * @param cell Cell
+	 */
+	private void link(int slot, int cell) {
+		int head = this.cellHeads[cell];
+		this.nextSlots[slot] = head;
+		this.previousSlots[slot] = EMPTY;
+		if (head != EMPTY) {
+			this.previousSlots[head] = slot;
+		}
+		this.cellHeads[cell] = slot;
+		this.slotCells[slot] = cell;
+	}
+
+	/**
+	 * Unlink slot from its current cell
+	 * 
+	 * @param slot Slot
+	 */
+	private void unlink(int slot) {
+		int cell = this.slotCells[slot];
+		if (cell == EMPTY) {
+			return;
+		}
+		int next = this.nextSlots[slot];
+		int previous = this.previousSlots[slot];
+		if (previous != EMPTY) {
+			this.nextSlots[previous] = next;
+		} else {
+			this.cellHeads[cell] = next;
+		}
+		if (next != EMPTY) {
+			this.previousSlots[next] = previous;
+		}
+		this.slotCells[slot] = EMPTY;
+	}
+
+	/**
+	 * Add contact to the result of the current query
+	 * 
+	 * @param slot Slot
+	 */
+	private void addContact(int slot) {
+		if (this.contactCount == this.contacts.length) {
+			this.contacts = Arrays.copyOf(this.contacts,
+					this.contacts.length * 2);
+		}
+		this.contacts[this.contactCount++] = slot;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,135 @@
+package gis;
+
+import java.util.Arrays;
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.geom.TopologyException;
+import com.vividsolutions.jts.triangulate.ConformingDelaunayTriangulationBuilder;
+import com.vividsolutions.jts.triangulate.ConstraintEnforcementException;
+import com.vividsolutions.jts.triangulate.quadedge.LocateFailureException;
+import com.vividsolutions.jts.util.AssertionFailedException;
+import repast.simphony.random.RandomHelper;
+
+public class GISPointSampler {
+
+	/**
+	 * Coordinates per triangle
+	 */
+	private static final int TRIANGLE_SIZE = 6;
+
+	/**
+	 * Triangle coordinates. Every triangle takes six consecutive values: x
+	 * and y of its three vertexes.
+	 */
+	private double[] triangles;
+
+	/**
+	 * Cumulative area of triangles
+	 */
+	private double[] cumulativeAreas;
+
+	/**
+	 * Triangle count
+	 */
+	private int triangleCount;
+
+	/**
+	 * Create a new geo-spatial point sampler. The geometry is triangulated
+	 * once and only the triangles inside it are kept. If the triangulation
+	 * fails, the sampler is left empty.
+	 * 
+	 * @param geometry Geometry
+	 */
+	public GISPointSampler(Geometry geometry) {
+		this.triangles = new double[0];
+		this.cumulativeAreas = new double[0];
+		Geometry candidates;
+		try {
+			candidates = triangulate(geometry);
+		} catch (ConstraintEnforcementException | LocateFailureException
+				| TopologyException | AssertionFailedException e) {
+			return;
+		}
+		this.triangles = new double[candidates.getNumGeometries()
+				* TRIANGLE_SIZE];
+		this.cumulativeAreas = new double[candidates.getNumGeometries()];
+		double totalArea = 0;
+		for (int i = 0; i < candidates.getNumGeometries(); i++) {
+			Geometry triangle = candidates.getGeometryN(i);
+			if (!geometry.covers(triangle.getInteriorPoint())) {
+				continue;
+			}
+			Coordinate[] vertexes = triangle.getCoordinates();
+			int offset = this.triangleCount * TRIANGLE_SIZE;
+			for (int j = 0; j < 3; j++) {
+				this.triangles[offset + 2 * j] = vertexes[j].x;
+				this.triangles[offset + 2 * j + 1] = vertexes[j].y;
+			}
+			totalArea += triangle.getArea();
+			this.cumulativeAreas[this.triangleCount] = totalArea;
+			this.triangleCount++;
+		}
+	}
+
+	/**
+	 * Triangulate geometry. Triangles outside the geometry are included.
+	 * 
+	 * @param geometry Geometry
+	 */
+	private static Geometry triangulate(Geometry geometry) {
+		GeometryFactory geometryFactory = geometry.getFactory();
+		ConformingDelaunayTriangulationBuilder builder;
+		builder = new ConformingDelaunayTriangulationBuilder();
+		builder.setSites(geometry);
+		builder.setConstraints(geometry);
+		return builder.getTriangles(geometryFactory);
+	}
+
+	/**
+	 * Is the sampler empty? It happens when the geometry couldn't be
+	 * triangulated.
+	 */
+	public boolean isEmpty() {
+		return this.triangleCount == 0
+				|| this.cumulativeAreas[this.triangleCount - 1] <= 0;
+	}
+
+	/**
+	 * Sample a uniformly distributed random coordinate. A triangle is drawn
+	 * with probability proportional to its area and a point is drawn
+	 * uniformly inside it.
+	 */
+	public Coordinate sample() {
+		double totalArea = this.cumulativeAreas[this.triangleCount - 1];
+		double r = RandomHelper.nextDoubleFromTo(0, totalArea);
+		int index = Arrays.binarySearch(this.cumulativeAreas, 0,
+				this.triangleCount, r);
+		if (index < 0) {
+			index = -index - 1;
+		}
+		index = Math.min(index, this.triangleCount - 1);
+		double u = RandomHelper.nextDoubleFromTo(0, 1);
+		double v = RandomHelper.nextDoubleFromTo(0, 1);
+		if (u + v > 1) {
+			u = 1 - u;
+			v = 1 - v;
+		}
+		int offset = index * TRIANGLE_SIZE;
+		double ax = this.triangles[offset];
+		double ay = this.triangles[offset + 1];
+		double x = ax + u * (this.triangles[offset + 2] - ax)
+				+ v * (this.triangles[offset + 4] - ax);
+		double y = ay + u * (this.triangles[offset + 3] - ay)
+				+ v * (this.triangles[offset + 5] - ay);
+		return new Coordinate(x, y);
+	}
+
+	/**
+	 * Get triangle count
+	 */
+	public int getTriangleCount() {
+		return this.triangleCount;
+	}
+
+}
\ No newline at end of file
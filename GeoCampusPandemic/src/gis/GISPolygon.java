@@ -1,5 +1,7 @@
 package gis;
 
+import java.util.ArrayList;
+import java.util.List;
 import com.vividsolutions.jts.geom.Geometry;
 import repast.simphony.space.gis.Geography;
 
@@ -10,6 +12,16 @@ public class GISPolygon {
 	 */
 	protected String id;
 
+	/**
+	 * Index in the polygon registry
+	 */
+	protected int index;
+
+	/**
+	 * Category
+	 */
+	protected PolygonCategory category;
+
 	/**
 	 * Weight
 	 */
@@ -30,6 +42,11 @@ public class GISPolygon {
 	 */
 	protected String link;
 
+	/**
+	 * Linked polygon
+	 */
+	protected GISPolygon linkedPolygon;
+
 	/**
 	 * Reference to geometry
 	 */
@@ -40,6 +57,11 @@ public class GISPolygon {
 	 */
 	protected Geography<Object> geography;
 
+	/**
+	 * Random point sampler
+	 */
+	protected GISPointSampler pointSampler;
+
 	/**
 	 * Instant agent count
 	 */
@@ -50,6 +72,16 @@ public class GISPolygon {
 	 */
 	protected int effectiveContacts;
 
+	/**
+	 * Index in the route table
+	 */
+	protected int routeIndex;
+
+	/**
+	 * Listeners notified when the active flag or the weights change
+	 */
+	protected List<Runnable> changeListeners;
+
 	/**
 	 * Create a new geo-spatial polygon
 	 * 
@@ -61,6 +93,9 @@ public class GISPolygon {
 		this.weight = weight;
 		this.active = active;
 		this.link = link;
+		this.index = -1;
+		this.routeIndex = -1;
+		this.changeListeners = new ArrayList<>();
 	}
 
 	/**
@@ -74,6 +109,7 @@ public class GISPolygon {
 		this.geography = geography;
 		this.geometry = geometry;
 		this.geography.move(this, this.geometry);
+		this.pointSampler = new GISPointSampler(geometry);
 	}
 
 	/**
@@ -118,6 +154,36 @@ public class GISPolygon {
 	 */
 	public void setWorkWeight(double weight) {
 		this.workWeight = weight;
+		notifyChange();
+	}
+
+	/**
+	 * Set weight
+	 * 
+	 * @param weight Weight
+	 */
+	public void setWeight(double weight) {
+		this.weight = weight;
+		notifyChange();
+	}
+
+	/**
+	 * Set active
+	 * 
+	 * @param active Active
+	 */
+	public void setActive(boolean active) {
+		this.active = active;
+		notifyChange();
+	}
+
+	/**
+	 * Add a listener notified when the active flag or the weights change
+	 * 
+	 * @param listener Listener
+	 */
+	public void addChangeListener(Runnable listener) {
+		this.changeListeners.add(listener);
 	}
 
 	/**
@@ -136,6 +202,45 @@ public class GISPolygon {
 		this.id = id;
 	}
 
+	/**
+	 * Get index in the polygon registry
+	 */
+	public int getIndex() {
+		return this.index;
+	}
+
+	/**
+	 * Set index in the polygon registry
+	 * 
+	 * @param index Index in the polygon registry
+	 */
+	public void setIndex(int index) {
+		this.index = index;
+	}
+
+	/**
+	 * Get category
+	 */
+	public PolygonCategory getCategory() {
+		return this.category;
+	}
+
+	/**
+	 * Set category
+	 * 
+	 * @param category Category
+	 */
+	public void setCategory(PolygonCategory category) {
+		this.category = category;
+	}
+
+	/**
+	 * Is in campus? Every polygon but limbos is in campus.
+	 */
+	public boolean isInCampus() {
+		return this.category != PolygonCategory.LIMBO;
+	}
+
 	/**
 	 * Get weight
 	 */
@@ -164,6 +269,38 @@ public class GISPolygon {
 		return this.link;
 	}
 
+	/**
+	 * Get linked polygon
+	 */
+	public GISPolygon getLinkedPolygon() {
+		return this.linkedPolygon;
+	}
+
+	/**
+	 * Set linked polygon
+	 * 
+	 * @param linkedPolygon Linked polygon
+	 */
+	public void setLinkedPolygon(GISPolygon linkedPolygon) {
+		this.linkedPolygon = linkedPolygon;
+	}
+
+	/**
+	 * Get index in the route table
+	 */
+	public int getRouteIndex() {
+		return this.routeIndex;
+	}
+
+	/**
+	 * Set index in the route table
+	 * 
+	 * @param routeIndex Index in the route table
+	 */
+	public void setRouteIndex(int routeIndex) {
+		this.routeIndex = routeIndex;
+	}
+
 	/**
 	 * Get reference to geometry
 	 */
@@ -171,4 +308,20 @@ public class GISPolygon {
 		return this.geometry;
 	}
 
+	/**
+	 * Get random point sampler
+	 */
+	public GISPointSampler getPointSampler() {
+		return this.pointSampler;
+	}
+
+	/**
+	 * Notify listeners of a change
+	 */
+	private void notifyChange() {
+		for (Runnable listener : this.changeListeners) {
+			listener.run();
+		}
+	}
+
 }
\ No newline at end of file
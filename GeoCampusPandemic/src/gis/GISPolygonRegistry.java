@@ -0,0 +1,104 @@
+package gis;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class GISPolygonRegistry {
+
+	/**
+	 * Initial capacity
+	 */
+	private static final int INITIAL_CAPACITY = 256;
+
+	/**
+	 * Polygons by index
+	 */
+	private GISPolygon[] polygons;
+
+	/**
+	 * Polygon count
+	 */
+	private int polygonCount;
+
+	/**
+	 * Polygon indexes by id
+	 */
+	private Map<String, Integer> indexes;
+
+	/**
+	 * Create a new geo-spatial polygon registry
+	 */
+	public GISPolygonRegistry() {
+		this.polygons = new GISPolygon[INITIAL_CAPACITY];
+		this.indexes = new HashMap<>();
+	}
+
+	/**
+	 * Register a polygon. The polygon gets the next dense index and the given
+	 * category. If the id is already taken, the first polygon registered
+	 * keeps it.
+	 * 
+	 * @param polygon  Polygon
+	 * @param category Category
+	 */
+	public int register(GISPolygon polygon, PolygonCategory category) {
+		if (this.polygonCount == this.polygons.length) {
+			this.polygons = Arrays.copyOf(this.polygons,
+					this.polygons.length * 2);
+		}
+		int index = this.polygonCount++;
+		this.polygons[index] = polygon;
+		polygon.setIndex(index);
+		polygon.setCategory(category);
+		this.indexes.putIfAbsent(polygon.getId(), index);
+		return index;
+	}
+
+	/**
+	 * Get polygon by index
+	 * 
+	 * @param index Polygon index
+	 */
+	public GISPolygon get(int index) {
+		return this.polygons[index];
+	}
+
+	/**
+	 * Get polygon by id. It returns null if the id is not registered.
+	 * 
+	 * @param id Polygon id
+	 */
+	public GISPolygon get(String id) {
+		Integer index = this.indexes.get(id);
+		return index == null ? null : this.polygons[index];
+	}
+
+	/**
+	 * Get polygon index by id. It returns -1 if the id is not registered.
+	 * 
+	 * @param id Polygon id
+	 */
+	public int getIndex(String id) {
+		Integer index = this.indexes.get(id);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Get polygon count
+	 */
+	public int getPolygonCount() {
+		return this.polygonCount;
+	}
+
+	/**
+	 * Resolve the links of every registered polygon
+	 */
+	public void resolveLinks() {
+		for (int i = 0; i < this.polygonCount; i++) {
+			GISPolygon polygon = this.polygons[i];
+			polygon.setLinkedPolygon(get(polygon.getLink()));
+		}
+	}
+
+}
\ No newline at end of file
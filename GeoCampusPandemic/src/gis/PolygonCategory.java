@@ -0,0 +1,6 @@
+package gis;
+
+public enum PolygonCategory {
+	TEACHING_FACILITY, SHARED_AREA, EATING_PLACE, IN_OUT, VEHICLE_IN_OUT,
+	TRANSIT_AREA, PARKING_LOT, LIMBO, OTHER_FACILITY
+}
\ No newline at end of file
@@ -4,31 +4,29 @@ import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import org.jgrapht.Graph;
-import org.jgrapht.GraphPath;
-import org.jgrapht.graph.DefaultWeightedEdge;
-import com.vividsolutions.jts.geom.Envelope;
-import com.vividsolutions.jts.geom.Geometry;
 import com.vividsolutions.jts.geom.Point;
-import config.SourceFeatures;
+import gis.GISContactIndex;
 import gis.GISDensityMeter;
 import gis.GISPolygon;
 import model.disease.Compartment;
 import model.disease.PatientType;
+import model.learning.FrozenPolicy;
+import model.learning.FrozenPolicyPool;
 import model.learning.LearningFactory;
 import model.learning.LearningMechanism;
 import model.learning.LearningStyle;
 import model.learning.SelectionStrategy;
+import model.util.PolygonSelector;
 import model.util.Randomizer;
 import repast.simphony.engine.environment.RunEnvironment;
+import repast.simphony.engine.schedule.IAction;
 import repast.simphony.engine.schedule.ISchedulableAction;
 import repast.simphony.engine.schedule.ISchedule;
 import repast.simphony.engine.schedule.ScheduledMethod;
 import repast.simphony.essentials.RepastEssentials;
-import repast.simphony.gis.util.GeometryUtil;
 import simulation.EventScheduler;
-import simulation.ParametersAdapter;
 import simulation.SimulationBuilder;
+import simulation.SimulationConfig;
 import util.PolygonUtil;
 import util.TickConverter;
 
@@ -59,6 +57,12 @@ public abstract class CommunityMember {
 	 */
 	protected LearningMechanism learningMechanism;
 
+	/**
+	 * Frozen policy. It replaces the learning mechanism once policies are
+	 * frozen.
+	 */
+	protected FrozenPolicy frozenPolicy;
+
 	/**
 	 * Vehicle user flag. Determines whether the student enters the campus by
 	 * car or by foot.
@@ -75,6 +79,16 @@ public abstract class CommunityMember {
 	 */
 	protected GISPolygon lastExit;
 
+	/**
+	 * Slot in the contact index
+	 */
+	protected int contactSlot;
+
+	/**
+	 * Latest lazy traversal in progress
+	 */
+	protected Traversal transit;
+
 	/**
 	 * Reference to simulation builder
 	 */
@@ -97,8 +111,10 @@ public abstract class CommunityMember {
 		this.simulationBuilder = simulationBuilder;
 		this.compartment = compartment;
 		this.outbreakTick = outbreakTick;
-		this.isVehicleUser = Randomizer.getRandomVehicleUsage();
+		this.isVehicleUser = Randomizer.getRandomVehicleUsage(
+				this.simulationBuilder.config.getVehicleUsageRatio());
 		this.scheduledActions = new EnumMap<>(SchedulableAction.class);
+		this.contactSlot = simulationBuilder.contactIndex.register(this);
 	}
 
 	/**
@@ -116,6 +132,8 @@ public abstract class CommunityMember {
 	 * Expel particles
 	 */
 	public void expelParticles() {
+		TransitRegistry transitRegistry = this.simulationBuilder.transitRegistry;
+		transitRegistry.settle(RepastEssentials.GetTickCount());
 		if (isInCampus()) {
 			infect();
 		}
@@ -127,7 +145,7 @@ public abstract class CommunityMember {
 	public void returnHome() {
 		this.lastExit = getRandomInOutSpot();
 		if (this.currentPolygon != null) {
-			moveToPolygon(this.lastExit, "vanishToLimbo");
+			moveToPolygon(this.lastExit, this::vanishToLimbo);
 		} else {
 			vanishToLimbo();
 		}
@@ -137,18 +155,18 @@ public abstract class CommunityMember {
 	 * Go have lunch at a designated eating place
 	 */
 	public void haveLunch() {
-		SelectionStrategy selectionStrategy = ParametersAdapter
+		SelectionStrategy selectionStrategy = this.simulationBuilder.config
 				.getSelectionStrategy();
 		GISPolygon polygon = getRandomPolygon(
-				this.simulationBuilder.eatingPlaces, selectionStrategy);
-		moveToPolygon(polygon, "");
+				this.simulationBuilder.eatingPlaceSelector, selectionStrategy);
+		moveToPolygon(polygon);
 	}
 
 	/**
 	 * Transition to the exposed compartment
 	 */
 	public void transitionToExposed() {
-		this.compartment = Compartment.EXPOSED;
+		setCompartment(Compartment.EXPOSED);
 		double incubationPeriod = Randomizer.getRandomIncubationPeriod();
 		double infectiousPeriod = Math
 				.max(incubationPeriod + Randomizer.INFECTION_MIN, 1);
@@ -156,41 +174,40 @@ public abstract class CommunityMember {
 				+ TickConverter.daysToTicks(incubationPeriod);
 		double ticks = TickConverter.daysToTicks(infectiousPeriod);
 		EventScheduler eventScheduler = EventScheduler.getInstance();
-		eventScheduler.scheduleOneTimeEvent(ticks, this,
-				"transitionToInfected");
+		eventScheduler.scheduleOneTimeEvent(ticks,
+				this::transitionToInfected);
 	}
 
 	/**
 	 * Transition to the infected compartment
 	 */
 	public void transitionToInfected() {
-		this.compartment = Compartment.INFECTED;
+		setCompartment(Compartment.INFECTED);
 		PatientType patientType = Randomizer.getRandomPatientType();
 		// Schedule regular particle expulsion
 		EventScheduler eventScheduler = EventScheduler.getInstance();
-		double expulsionInterval = ParametersAdapter
+		double expulsionInterval = this.simulationBuilder.config
 				.getParticleExpulsionInterval();
 		double expelInterval = TickConverter.minutesToTicks(expulsionInterval);
 		ISchedulableAction expelAction = eventScheduler.scheduleRecurringEvent(
-				1, this, expelInterval, "expelParticles");
+				1, expelInterval, this::expelParticles);
 		List<ISchedulableAction> actions = new ArrayList<>();
 		actions.add(expelAction);
 		this.scheduledActions.put(SchedulableAction.EXPEL_PARTICLES, actions);
 		// Schedule removal
 		boolean isDying = Randomizer.isGoingToDie(patientType);
-		String removalMethod = (isDying) ? "die" : "transitionToImmune";
+		IAction removal = (isDying) ? this::die : this::transitionToImmune;
 		double timeToDischarge = Randomizer.getRandomTimeToDischarge();
 		double ticksToRemoval = TickConverter
 				.daysToTicks(timeToDischarge - Randomizer.INFECTION_MIN);
-		eventScheduler.scheduleOneTimeEvent(ticksToRemoval, this,
-				removalMethod);
+		eventScheduler.scheduleOneTimeEvent(ticksToRemoval, removal);
 	}
 
 	/**
 	 * Transition to the immune compartment
 	 */
 	public void transitionToImmune() {
-		this.compartment = Compartment.IMMUNE;
+		setCompartment(Compartment.IMMUNE);
 		unscheduleAction(SchedulableAction.EXPEL_PARTICLES);
 	}
 
@@ -198,7 +215,7 @@ public abstract class CommunityMember {
 	 * Transition to the dead compartment
 	 */
 	public void die() {
-		this.compartment = Compartment.DEAD;
+		setCompartment(Compartment.DEAD);
 		unscheduleAction(SchedulableAction.ATTEND_ACTIVITY);
 		unscheduleAction(SchedulableAction.ARRIVE_CAMPUS);
 		unscheduleAction(SchedulableAction.RETURN_HOME);
@@ -210,8 +227,7 @@ public abstract class CommunityMember {
 	 * Vanish to a limbo. A limbo emulates what's off campus.
 	 */
 	public void vanishToLimbo() {
-		String limboId = this.lastExit.getLink();
-		GISPolygon limbo = this.simulationBuilder.getPolygonById(limboId);
+		GISPolygon limbo = this.lastExit.getLinkedPolygon();
 		if (this.currentPolygon == null) {
 			this.currentPolygon = limbo;
 		}
@@ -227,20 +243,35 @@ public abstract class CommunityMember {
 		// Relocation
 		Point destination = PolygonUtil.getRandomPoint(polygon);
 		this.simulationBuilder.geography.move(this, destination);
+		this.simulationBuilder.contactIndex.move(this.contactSlot,
+				destination.getX(), destination.getY());
 		this.currentPolygon.onDeparture();
 		this.currentPolygon = polygon;
 		this.currentPolygon.onArrival();
 		// Update learning
 		String currentLocation = polygon.getId();
-		if (this.learningMechanism.containsState(currentLocation)) {
+		if (this.frozenPolicy == null
+				&& this.learningMechanism.containsState(currentLocation)) {
 			GISDensityMeter densityMeter = (GISDensityMeter) this.currentPolygon;
-			double socialDistancing = ParametersAdapter.getSocialDistancing();
+			double socialDistancing = this.simulationBuilder.config
+					.getSocialDistancing();
 			double density = densityMeter.measureDensity();
 			double reward = (1.0 / socialDistancing) - density;
 			this.learningMechanism.updateLearning(currentLocation, reward);
 		}
 	}
 
+	/**
+	 * Freeze policy. Learning stops and destinations are drawn from the
+	 * compiled policy. The learning mechanism is dropped.
+	 * 
+	 * @param policies Frozen policies
+	 */
+	public void freezePolicy(FrozenPolicyPool policies) {
+		this.frozenPolicy = this.learningMechanism.freeze(policies);
+		this.learningMechanism = null;
+	}
+
 	/**
 	 * Get compartment
 	 */
@@ -248,12 +279,18 @@ public abstract class CommunityMember {
 		return this.compartment;
 	}
 
+	/**
+	 * Get learning mechanism. It is null once the policy is frozen.
+	 */
+	public LearningMechanism getLearningMechanism() {
+		return this.learningMechanism;
+	}
+
 	/**
 	 * Is in campus?
 	 */
 	public boolean isInCampus() {
-		String polygonId = this.currentPolygon.getId();
-		return !this.simulationBuilder.limbos.containsKey(polygonId);
+		return this.currentPolygon.isInCampus();
 	}
 
 	/**
@@ -319,100 +356,112 @@ public abstract class CommunityMember {
 	 */
 	protected abstract void scheduleLunch();
 
+	/**
+	 * Get cohort. Cohort Q-learning shares one Q-table per cohort.
+	 */
+	protected abstract String getCohort();
+
 	/**
 	 * Get random polygon
 	 * 
-	 * @param polygons Map of polygons to choose from
+	 * @param selector Selector of the polygons to choose from
 	 * @param strategy Selection strategy
 	 */
-	protected GISPolygon getRandomPolygon(Map<String, GISPolygon> polygons,
+	protected GISPolygon getRandomPolygon(PolygonSelector selector,
 			SelectionStrategy strategy) {
 		GISPolygon selectedPolygon = null;
 		switch (strategy) {
 		case RL_BASED:
 			String currentLocation = this.currentPolygon.getId();
-			if (this.learningMechanism.containsState(currentLocation)) {
-				String destination = this.learningMechanism
-						.selectAction(currentLocation);
+			String destination = selectDestination(currentLocation);
+			if (destination != null) {
 				selectedPolygon = this.simulationBuilder
 						.getPolygonById(destination);
 			} else {
-				selectedPolygon = getRandomPolygon(polygons,
+				selectedPolygon = getRandomPolygon(selector,
 						SelectionStrategy.RANDOM);
 			}
 			break;
 		case WEIGHT_BASED:
-			selectedPolygon = Randomizer.getRandomPolygonWeightBased(polygons);
+			selectedPolygon = Randomizer.getRandomPolygonWeightBased(selector);
 			break;
 		default:
-			selectedPolygon = Randomizer.getRandomPolygon(polygons);
+			selectedPolygon = Randomizer.getRandomPolygon(selector);
 			break;
 		}
 		return selectedPolygon;
 
 	}
 
+	/**
+	 * Select destination with the frozen policy, or with the learning
+	 * mechanism while policies are not frozen. It returns null if the
+	 * current location is not a state.
+	 * 
+	 * @param currentLocation Current location
+	 */
+	protected String selectDestination(String currentLocation) {
+		if (this.frozenPolicy != null) {
+			if (this.frozenPolicy.containsState(currentLocation)) {
+				return this.frozenPolicy.selectAction(currentLocation);
+			}
+		} else if (this.learningMechanism.containsState(currentLocation)) {
+			return this.learningMechanism.selectAction(currentLocation);
+		}
+		return null;
+	}
+
 	/**
 	 * Move to an specific polygon. Find the shortest route and traverse the
 	 * graph.
 	 * 
 	 * @param polygon Polygon to go to
-	 * @param method  Method to call after arriving to polygon
-	 */
-	protected void moveToPolygon(GISPolygon polygon, String method) {
-		String source = this.currentPolygon.getId();
-		String sink = polygon.getId();
-		// Get shortest paths
-		Graph<String, DefaultWeightedEdge> routes = this.simulationBuilder.routes;
-		Map<String, GraphPath<String, DefaultWeightedEdge>> shortestPaths = this.simulationBuilder.shortestPaths;
-		String pathId = source + SourceFeatures.ENTITY_SEPARATOR + sink;
-		GraphPath<String, DefaultWeightedEdge> path = shortestPaths.get(pathId);
-		List<String> vertexes = path.getVertexList();
-		List<DefaultWeightedEdge> edges = path.getEdgeList();
-		// Schedule relocations
-		EventScheduler eventScheduler = EventScheduler.getInstance();
-		double totalTime = 0.0;
-		double speed = Randomizer.getRandomWalkingSpeed();
-		for (int i = 0; i < vertexes.size() - 1; i++) {
-			String id = vertexes.get(i + 1);
-			GISPolygon nextPolygon = this.simulationBuilder.getPolygonById(id);
-			DefaultWeightedEdge edge = edges.get(i);
-			double meters = routes.getEdgeWeight(edge);
-			double minutes = meters / speed;
-			totalTime += minutes;
-			double ticks = TickConverter.minutesToTicks(totalTime);
-			eventScheduler.scheduleOneTimeEvent(ticks, this, "relocate",
-					nextPolygon);
-		}
-		// Schedule method
-		if (!method.isEmpty()) {
-			totalTime += 1;
-			double ticks = TickConverter.minutesToTicks(totalTime);
-			eventScheduler.scheduleOneTimeEvent(ticks, this, method);
+	 */
+	protected void moveToPolygon(GISPolygon polygon) {
+		moveToPolygon(polygon, null);
+	}
+
+	/**
+	 * Move to an specific polygon. Find the shortest route and traverse the
+	 * graph. A lazy traversal in progress is settled and cancelled first.
+	 * 
+	 * @param polygon   Polygon to go to
+	 * @param onArrival Action to execute after arriving to polygon. It can be
+	 *                  null.
+	 */
+	protected void moveToPolygon(GISPolygon polygon, IAction onArrival) {
+		if (this.transit != null) {
+			this.transit.settle(RepastEssentials.GetTickCount());
+			this.transit.cancel();
 		}
+		double speed = Randomizer.getRandomWalkingSpeed();
+		Traversal traversal = new Traversal(this, this.currentPolygon, polygon,
+				speed, onArrival);
+		traversal.start();
 	}
 
 	/**
-	 * Initialize disease
+	 * Initialize disease and register in the epidemic registry
 	 */
 	private void initDisease() {
 		if (this.compartment == Compartment.EXPOSED) {
 			this.compartment = Compartment.SUSCEPTIBLE;
 			EventScheduler eventScheduler = EventScheduler.getInstance();
-			eventScheduler.scheduleOneTimeEvent(this.outbreakTick, this,
-					"transitionToExposed");
+			eventScheduler.scheduleOneTimeEvent(this.outbreakTick,
+					this::transitionToExposed);
 		}
+		this.simulationBuilder.epidemicRegistry.register(this.compartment);
 	}
 
 	/**
 	 * Initialize learning
 	 */
 	private void initLearning() {
-		LearningStyle learningStyle = ParametersAdapter.getLearningStyle();
+		SimulationConfig config = this.simulationBuilder.config;
+		LearningStyle learningStyle = config.getLearningStyle();
 		this.learningMechanism = LearningFactory.makeLearningMechanism(
-				learningStyle, this.simulationBuilder.teachingFacilities,
-				this.simulationBuilder.sharedAreas,
-				this.simulationBuilder.eatingPlaces);
+				learningStyle, config, this.simulationBuilder.learningIndex,
+				this.simulationBuilder.sharedQTables, getCohort());
 	}
 
 	/**
@@ -429,42 +478,41 @@ public abstract class CommunityMember {
 	 * Infect nearby susceptible individuals
 	 */
 	private void infect() {
-		double distance = ParametersAdapter.getInfectionRadius();
-		Geometry searchArea = GeometryUtil.generateBuffer(
-				this.simulationBuilder.geography,
-				this.simulationBuilder.geography.getGeometry(this), distance);
-		Envelope searchEnvelope = searchArea.getEnvelopeInternal();
-		Iterable<Student> students = this.simulationBuilder.geography
-				.getObjectsWithin(searchEnvelope, Student.class);
+		double distance = this.simulationBuilder.config.getInfectionRadius();
+		GISContactIndex<CommunityMember> contactIndex = this.simulationBuilder.contactIndex;
+		int contacts = contactIndex.findWithin(this.contactSlot, distance);
 		double incubationDiff = RepastEssentials.GetTickCount()
 				- this.incubationEnd;
-		for (Student student : students) {
-			if (student.compartment == Compartment.SUSCEPTIBLE
-					&& Randomizer.isGettingExposed(incubationDiff)) {
-				student.transitionToExposed();
-				student.currentPolygon.onEffectiveContact();
-			}
-		}
-		Iterable<Staffer> staffers = this.simulationBuilder.geography
-				.getObjectsWithin(searchEnvelope, Staffer.class);
-		for (Staffer staffer : staffers) {
-			if (staffer.compartment == Compartment.SUSCEPTIBLE
+		for (int i = 0; i < contacts; i++) {
+			CommunityMember contact = contactIndex.getContact(i);
+			if (contact.compartment == Compartment.SUSCEPTIBLE
 					&& Randomizer.isGettingExposed(incubationDiff)) {
-				staffer.transitionToExposed();
-				staffer.currentPolygon.onEffectiveContact();
+				contact.transitionToExposed();
+				contact.currentPolygon.onEffectiveContact();
 			}
 		}
 	}
 
+	/**
+	 * Set compartment and update the epidemic registry
+	 * 
+	 * @param compartment New compartment
+	 */
+	private void setCompartment(Compartment compartment) {
+		this.simulationBuilder.epidemicRegistry.move(this.compartment,
+				compartment);
+		this.compartment = compartment;
+	}
+
 	/**
 	 * Get random in-out spot
 	 */
 	private GISPolygon getRandomInOutSpot() {
-		Map<String, GISPolygon> inOuts = null;
+		PolygonSelector inOuts = null;
 		if (this.isVehicleUser) {
-			inOuts = this.simulationBuilder.vehicleInOuts;
+			inOuts = this.simulationBuilder.vehicleInOutSelector;
 		} else {
-			inOuts = this.simulationBuilder.inOuts;
+			inOuts = this.simulationBuilder.inOutSelector;
 		}
 		return getRandomPolygon(inOuts, SelectionStrategy.RANDOM);
 	}
@@ -1,22 +1,68 @@
 package model.agents;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Set;
 
 public class Schedule {
 
+	/**
+	 * Days per week
+	 */
+	public static final int DAYS_PER_WEEK = 7;
+
 	/**
 	 * List of groups
 	 */
 	private List<Group> groups;
 
+	/**
+	 * Whether the timetable index is up to date
+	 */
+	private boolean compiled;
+
+	/**
+	 * Bitmask of days in campus. Bit d is set if there are activities in day
+	 * d.
+	 */
+	private int campusDays;
+
+	/**
+	 * Days in campus, in ascending order
+	 */
+	private List<Integer> campusDayList;
+
+	/**
+	 * Activities of every day sorted by start time. Activities starting at
+	 * the same time keep the order of the groups.
+	 */
+	private AcademicActivity[][] activities;
+
+	/**
+	 * Start times of the sorted activities of every day
+	 */
+	private double[][] startTimes;
+
+	/**
+	 * Latest end time among the sorted activities of every day up to every
+	 * position
+	 */
+	private double[][] maxEndTimes;
+
+	/**
+	 * Activity of every day ending the latest. The first one in the order of
+	 * the groups wins ties.
+	 */
+	private AcademicActivity[] lastActivities;
+
 	/**
 	 * Create a new schedule
 	 */
 	public Schedule() {
 		this.groups = new ArrayList<>();
+		this.compiled = false;
 	}
 
 	/**
@@ -26,6 +72,7 @@ public class Schedule {
 	 */
 	public Schedule(List<Group> groups) {
 		this.groups = groups;
+		this.compiled = false;
 	}
 
 	/**
@@ -35,24 +82,70 @@ public class Schedule {
 	 */
 	public void addGroup(Group group) {
 		this.groups.add(group);
+		this.compiled = false;
 	}
 
 	/**
-	 * Get list of days in campus
+	 * Compile the per-day timetable index. Queries compile it if needed, and
+	 * adding a group discards it.
 	 */
-	public List<Integer> getCampusDays() {
-		List<Integer> campusDays = new ArrayList<>();
-		Set<Integer> days = new HashSet<>();
+	public void compile() {
+		int campusDays = 0;
+		int[] counts = new int[DAYS_PER_WEEK + 1];
+		for (Group group : this.groups) {
+			for (AcademicActivity activity : group.getAcademicActivities()) {
+				int day = activity.getDay();
+				if (day < 1 || day > DAYS_PER_WEEK) {
+					throw new IllegalArgumentException(
+							String.format("Invalid activity day: %d", day));
+				}
+				campusDays |= 1 << day;
+				counts[day]++;
+			}
+		}
+		this.campusDays = campusDays;
+		this.campusDayList = new ArrayList<>();
+		this.activities = new AcademicActivity[DAYS_PER_WEEK + 1][];
+		this.startTimes = new double[DAYS_PER_WEEK + 1][];
+		this.maxEndTimes = new double[DAYS_PER_WEEK + 1][];
+		this.lastActivities = new AcademicActivity[DAYS_PER_WEEK + 1];
+		for (int day = 1; day <= DAYS_PER_WEEK; day++) {
+			this.activities[day] = new AcademicActivity[counts[day]];
+			if ((campusDays & (1 << day)) != 0) {
+				this.campusDayList.add(day);
+			}
+		}
+		int[] sizes = new int[DAYS_PER_WEEK + 1];
 		for (Group group : this.groups) {
-			Set<Integer> activityDays = group.getActivityDays();
-			for (Integer day : activityDays) {
-				days.add(day);
+			for (AcademicActivity activity : group.getAcademicActivities()) {
+				int day = activity.getDay();
+				this.activities[day][sizes[day]++] = activity;
 			}
 		}
-		for (Integer day : days) {
-			campusDays.add(day);
+		for (int day = 1; day <= DAYS_PER_WEEK; day++) {
+			compileDay(day);
 		}
-		return campusDays;
+		this.campusDayList = Collections.unmodifiableList(this.campusDayList);
+		this.compiled = true;
+	}
+
+	/**
+	 * Get list of days in campus, in ascending order
+	 */
+	public List<Integer> getCampusDays() {
+		ensureCompiled();
+		return this.campusDayList;
+	}
+
+	/**
+	 * Is there any academic activity in an specific day?
+	 * 
+	 * @param day Day
+	 */
+	public boolean isCampusDay(int day) {
+		ensureCompiled();
+		return day >= 1 && day <= DAYS_PER_WEEK
+				&& (this.campusDays & (1 << day)) != 0;
 	}
 
 	/**
@@ -61,22 +154,10 @@ public class Schedule {
 	 * @param day Day
 	 */
 	public AcademicActivity getFirstAcademicActivityInDay(int day) {
-		AcademicActivity firstActivity = null;
-		for (Group group : this.groups) {
-			for (AcademicActivity activity : group.getAcademicActivities()) {
-				if (activity.getDay() == day) {
-					if (firstActivity == null) {
-						firstActivity = activity;
-					} else {
-						if (firstActivity.getStartTime() > activity
-								.getStartTime()) {
-							firstActivity = activity;
-						}
-					}
-				}
-			}
+		if (!isCampusDay(day)) {
+			return null;
 		}
-		return firstActivity;
+		return this.activities[day][0];
 	}
 
 	/**
@@ -85,21 +166,10 @@ public class Schedule {
 	 * @param day Day
 	 */
 	public AcademicActivity getLastAcademicActivityInDay(int day) {
-		AcademicActivity lastActivity = null;
-		for (Group group : this.groups) {
-			for (AcademicActivity activity : group.getAcademicActivities()) {
-				if (activity.getDay() == day) {
-					if (lastActivity == null) {
-						lastActivity = activity;
-					} else {
-						if (lastActivity.getEndTime() < activity.getEndTime()) {
-							lastActivity = activity;
-						}
-					}
-				}
-			}
+		if (!isCampusDay(day)) {
+			return null;
 		}
-		return lastActivity;
+		return this.lastActivities[day];
 	}
 
 	/**
@@ -109,48 +179,31 @@ public class Schedule {
 	 * @param hour Hour
 	 */
 	public AcademicActivity getNextAcademicActivity(int day, double hour) {
-		AcademicActivity nextActivity = null;
-		for (Group group : this.groups) {
-			for (AcademicActivity activity : group.getAcademicActivities()) {
-				if (activity.getDay() == day
-						&& activity.getStartTime() > hour) {
-					if (nextActivity == null) {
-						nextActivity = activity;
-					} else {
-						if (nextActivity.getStartTime() > activity
-								.getStartTime()) {
-							nextActivity = activity;
-						}
-					}
-				}
-			}
+		if (!isCampusDay(day)) {
+			return null;
 		}
-		return nextActivity;
+		int next = countStartingBy(day, hour);
+		if (next == this.activities[day].length) {
+			return null;
+		}
+		return this.activities[day][next];
 	}
 
 	/**
-	 * Checks whether a proposed event collides with the current schedule
+	 * Checks whether a proposed event collides with the current schedule. It
+	 * does if it starts or ends during an academic activity.
 	 * 
 	 * @param day        Day
 	 * @param eventStart Event start
 	 * @param duration   Event duration
 	 */
 	public boolean collides(int day, double eventStart, double duration) {
-		for (Group group : this.groups) {
-			for (AcademicActivity activity : group.getAcademicActivities()) {
-				if (activity.getDay() == day) {
-					double activityStart = activity.getStartTime();
-					double activityEnd = activity.getEndTime();
-					double eventEnd = eventStart + duration;
-					if ((eventEnd >= activityStart && eventEnd <= activityEnd)
-							|| (eventStart >= activityStart
-									&& eventStart <= activityEnd)) {
-						return true;
-					}
-				}
-			}
+		if (!isCampusDay(day)) {
+			return false;
 		}
-		return false;
+		double eventEnd = eventStart + duration;
+		return isDuringActivity(day, eventEnd)
+				|| isDuringActivity(day, eventStart);
 	}
 
 	/**
@@ -167,4 +220,77 @@ public class Schedule {
 		return this.groups.size();
 	}
 
+	/**
+	 * Sort the activities of a day and index their times
+	 * 
+	 * @param day Day
+	 */
+	private void compileDay(int day) {
+		AcademicActivity[] dayActivities = this.activities[day];
+		Arrays.sort(dayActivities,
+				Comparator.comparingDouble(AcademicActivity::getStartTime));
+		double[] starts = new double[dayActivities.length];
+		double[] maxEnds = new double[dayActivities.length];
+		double maxEnd = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < dayActivities.length; i++) {
+			starts[i] = dayActivities[i].getStartTime();
+			maxEnd = Math.max(maxEnd, dayActivities[i].getEndTime());
+			maxEnds[i] = maxEnd;
+		}
+		AcademicActivity lastActivity = null;
+		for (Group group : this.groups) {
+			for (AcademicActivity activity : group.getAcademicActivities()) {
+				if (activity.getDay() == day && (lastActivity == null
+						|| lastActivity.getEndTime() < activity.getEndTime())) {
+					lastActivity = activity;
+				}
+			}
+		}
+		this.startTimes[day] = starts;
+		this.maxEndTimes[day] = maxEnds;
+		this.lastActivities[day] = lastActivity;
+	}
+
+	/**
+	 * Compile the timetable index if it is not up to date
+	 */
+	private void ensureCompiled() {
+		if (!this.compiled) {
+			compile();
+		}
+	}
+
+	/**
+	 * Count the activities of a day starting by a certain hour
+	 * 
+	 * @param day  Day
+	 * @param hour Hour
+	 */
+	private int countStartingBy(int day, double hour) {
+		double[] starts = this.startTimes[day];
+		int low = 0;
+		int high = starts.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (starts[middle] <= hour) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Is a certain hour within any academic activity of a day? Bounds
+	 * included.
+	 * 
+	 * @param day  Day
+	 * @param hour Hour
+	 */
+	private boolean isDuringActivity(int day, double hour) {
+		int started = countStartingBy(day, hour);
+		return started > 0 && this.maxEndTimes[day][started - 1] >= hour;
+	}
+
 }
\ No newline at end of file
@@ -38,7 +38,7 @@ public class Staffer extends CommunityMember {
 			double outbreakTick) {
 		super(contextBuilder, compartment, outbreakTick);
 		this.workplace = Randomizer.getRandomPolygonWorkWeightBased(
-				this.simulationBuilder.workplaces);
+				this.simulationBuilder.workplaceSelector);
 		this.workStartTime = Randomizer.getRandomStafferArrivalTime();
 	}
 
@@ -46,7 +46,7 @@ public class Staffer extends CommunityMember {
 	 * Work
 	 */
 	public void work() {
-		moveToPolygon(this.workplace, "");
+		moveToPolygon(this.workplace);
 	}
 
 	/**
@@ -60,8 +60,8 @@ public class Staffer extends CommunityMember {
 			double ticksToEvent = TickConverter.dayTimeToTicks(i,
 					this.workStartTime);
 			ISchedulableAction workAction = eventScheduler
-					.scheduleRecurringEvent(ticksToEvent, this,
-							TickConverter.TICKS_PER_WEEK, "work");
+					.scheduleRecurringEvent(ticksToEvent,
+							TickConverter.TICKS_PER_WEEK, this::work);
 			actions.add(workAction);
 		}
 		this.scheduledActions.put(SchedulableAction.ATTEND_ACTIVITY, actions);
@@ -79,8 +79,8 @@ public class Staffer extends CommunityMember {
 			double startTime = Math.min(arrivalTime, this.workStartTime - 1);
 			double ticksToEvent = TickConverter.dayTimeToTicks(i, startTime);
 			ISchedulableAction arriveCampusAction = eventScheduler
-					.scheduleRecurringEvent(ticksToEvent, this,
-							TickConverter.TICKS_PER_WEEK, "haveLunch");
+					.scheduleRecurringEvent(ticksToEvent,
+							TickConverter.TICKS_PER_WEEK, this::haveLunch);
 			actions.add(arriveCampusAction);
 		}
 		this.scheduledActions.put(SchedulableAction.ARRIVE_CAMPUS, actions);
@@ -97,8 +97,8 @@ public class Staffer extends CommunityMember {
 			double endTime = Randomizer.getRandomStafferDepartureTime();
 			double ticksToEvent = TickConverter.dayTimeToTicks(i, endTime);
 			ISchedulableAction returnHomeAction = eventScheduler
-					.scheduleRecurringEvent(ticksToEvent, this,
-							TickConverter.TICKS_PER_WEEK, "returnHome");
+					.scheduleRecurringEvent(ticksToEvent,
+							TickConverter.TICKS_PER_WEEK, this::returnHome);
 			actions.add(returnHomeAction);
 		}
 		this.scheduledActions.put(SchedulableAction.RETURN_HOME, actions);
@@ -116,16 +116,24 @@ public class Staffer extends CommunityMember {
 			double lunchDuration = Randomizer.getRandomLunchDuration();
 			double ticksToEvent = TickConverter.dayTimeToTicks(i, lunchTime);
 			ISchedulableAction haveLunchAction = eventScheduler
-					.scheduleRecurringEvent(ticksToEvent, this,
-							TickConverter.TICKS_PER_WEEK, "haveLunch");
+					.scheduleRecurringEvent(ticksToEvent,
+							TickConverter.TICKS_PER_WEEK, this::haveLunch);
 			actions.add(haveLunchAction);
 			ticksToEvent += lunchDuration;
 			ISchedulableAction workAction = eventScheduler
-					.scheduleRecurringEvent(ticksToEvent, this,
-							TickConverter.TICKS_PER_WEEK, "work");
+					.scheduleRecurringEvent(ticksToEvent,
+							TickConverter.TICKS_PER_WEEK, this::work);
 			actions.add(workAction);
 		}
 		this.scheduledActions.put(SchedulableAction.HAVE_LUNCH, actions);
 	}
 
+	/**
+	 * Get cohort
+	 */
+	@Override
+	protected String getCohort() {
+		return "staffers";
+	}
+
 }
\ No newline at end of file
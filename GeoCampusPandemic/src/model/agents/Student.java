@@ -8,12 +8,12 @@ import gis.GISPolygon;
 import model.disease.Compartment;
 import model.learning.SelectionStrategy;
 import model.util.Heuristics;
+import model.util.PolygonSelector;
 import model.util.Randomizer;
 import repast.simphony.engine.schedule.ISchedulableAction;
 import repast.simphony.essentials.RepastEssentials;
 import repast.simphony.util.collections.Pair;
 import simulation.EventScheduler;
-import simulation.ParametersAdapter;
 import simulation.SimulationBuilder;
 import util.TickConverter;
 
@@ -60,12 +60,13 @@ public class Student extends CommunityMember {
 	}
 
 	/**
-	 * Assign an academic schedule
+	 * Assign an academic schedule and compile its timetable index
 	 * 
 	 * @param schedule Academic schedule
 	 */
 	public void setSchedule(Schedule schedule) {
 		this.schedule = schedule;
+		this.schedule.compile();
 	}
 
 	/**
@@ -77,7 +78,7 @@ public class Student extends CommunityMember {
 		Map<String, GISPolygon> teachingFacilities = this.simulationBuilder.teachingFacilities;
 		GISPolygon teachingFacility = teachingFacilities
 				.get(teachingFacilityId);
-		moveToPolygon(teachingFacility, "");
+		moveToPolygon(teachingFacility);
 	}
 
 	/**
@@ -87,9 +88,8 @@ public class Student extends CommunityMember {
 	 */
 	public void leaveActivity() {
 		double ticks = RepastEssentials.GetTickCount();
-		Pair<Integer, Double> dayTime = TickConverter.ticksToDayTime(ticks);
-		int day = dayTime.getFirst();
-		double hour = dayTime.getSecond();
+		int day = TickConverter.ticksToDay(ticks);
+		double hour = TickConverter.ticksToTime(ticks);
 		AcademicActivity nextActivity = this.schedule
 				.getNextAcademicActivity(day, hour);
 		if (nextActivity != null) {
@@ -107,18 +107,16 @@ public class Student extends CommunityMember {
 	 */
 	public void haveFun() {
 		// Walk to shared area
-		Map<String, GISPolygon> places = this.simulationBuilder.sharedAreas;
-		places.putAll(this.simulationBuilder.eatingPlaces);
-		SelectionStrategy selectionStrategy = ParametersAdapter
+		PolygonSelector places = this.simulationBuilder.funPlaceSelector;
+		SelectionStrategy selectionStrategy = this.simulationBuilder.config
 				.getSelectionStrategy();
 		GISPolygon polygon = getRandomPolygon(places, selectionStrategy);
-		moveToPolygon(polygon, "");
+		moveToPolygon(polygon);
 		// Schedule having fun in another place
 		EventScheduler eventScheduler = EventScheduler.getInstance();
 		double ticks = RepastEssentials.GetTickCount();
-		Pair<Integer, Double> dayTime = TickConverter.ticksToDayTime(ticks);
-		int day = dayTime.getFirst();
-		double hour = dayTime.getSecond();
+		int day = TickConverter.ticksToDay(ticks);
+		double hour = TickConverter.ticksToTime(ticks);
 		double timeToNextEvent = -1;
 		AcademicActivity nextActivity = this.schedule
 				.getNextAcademicActivity(day, hour);
@@ -130,8 +128,8 @@ public class Student extends CommunityMember {
 		if (timeToNextEvent > ticks) {
 			double delta = timeToNextEvent - hour;
 			if (delta > FUN_CHANGE_FREQUENCY) {
-				eventScheduler.scheduleOneTimeEvent(FUN_CHANGE_FREQUENCY, this,
-						"haveFun");
+				eventScheduler.scheduleOneTimeEvent(FUN_CHANGE_FREQUENCY,
+						this::haveFun);
 			}
 		}
 	}
@@ -159,15 +157,16 @@ public class Student extends CommunityMember {
 				double ticksToEvent = TickConverter.dayTimeToTicks(day,
 						startTime);
 				ISchedulableAction attendActivityAction = eventScheduler
-						.scheduleRecurringEvent(ticksToEvent, this,
-								TickConverter.TICKS_PER_WEEK, "attendActivity",
-								teachingFacilityId);
+						.scheduleRecurringEvent(ticksToEvent,
+								TickConverter.TICKS_PER_WEEK,
+								() -> attendActivity(teachingFacilityId));
 				actions.add(attendActivityAction);
 				double endTime = activity.getEndTime();
 				ticksToEvent = TickConverter.dayTimeToTicks(day, endTime);
 				ISchedulableAction leaveActivityAction = eventScheduler
-						.scheduleRecurringEvent(ticksToEvent, this,
-								TickConverter.TICKS_PER_WEEK, "leaveActivity");
+						.scheduleRecurringEvent(ticksToEvent,
+								TickConverter.TICKS_PER_WEEK,
+								this::leaveActivity);
 				actions.add(leaveActivityAction);
 			}
 		}
@@ -191,8 +190,8 @@ public class Student extends CommunityMember {
 					arrivalTime);
 			double ticksToEvent = TickConverter.dayTimeToTicks(day, startTime);
 			ISchedulableAction arriveCampusAction = eventScheduler
-					.scheduleRecurringEvent(ticksToEvent, this,
-							TickConverter.TICKS_PER_WEEK, "haveFun");
+					.scheduleRecurringEvent(ticksToEvent,
+							TickConverter.TICKS_PER_WEEK, this::haveFun);
 			actions.add(arriveCampusAction);
 		}
 		this.scheduledActions.put(SchedulableAction.ARRIVE_CAMPUS, actions);
@@ -213,8 +212,8 @@ public class Student extends CommunityMember {
 			double endTime = Math.max(lastActivity.getEndTime(), departureTime);
 			double ticksToEvent = TickConverter.dayTimeToTicks(day, endTime);
 			ISchedulableAction returnHomeAction = eventScheduler
-					.scheduleRecurringEvent(ticksToEvent, this,
-							TickConverter.TICKS_PER_WEEK, "returnHome");
+					.scheduleRecurringEvent(ticksToEvent,
+							TickConverter.TICKS_PER_WEEK, this::returnHome);
 			actions.add(returnHomeAction);
 			this.scheduledDepartures.put(day, endTime);
 		}
@@ -239,16 +238,24 @@ public class Student extends CommunityMember {
 			double lunchDuration = lunch.getSecond();
 			double ticksToEvent = TickConverter.dayTimeToTicks(day, lunchTime);
 			ISchedulableAction haveLunchAction = eventScheduler
-					.scheduleRecurringEvent(ticksToEvent, this,
-							TickConverter.TICKS_PER_WEEK, "haveLunch");
+					.scheduleRecurringEvent(ticksToEvent,
+							TickConverter.TICKS_PER_WEEK, this::haveLunch);
 			actions.add(haveLunchAction);
 			ticksToEvent += lunchDuration;
 			ISchedulableAction haveFunAction = eventScheduler
-					.scheduleRecurringEvent(ticksToEvent, this,
-							TickConverter.TICKS_PER_WEEK, "haveFun");
+					.scheduleRecurringEvent(ticksToEvent,
+							TickConverter.TICKS_PER_WEEK, this::haveFun);
 			actions.add(haveFunAction);
 		}
 		this.scheduledActions.put(SchedulableAction.HAVE_LUNCH, actions);
 	}
 
+	/**
+	 * Get cohort
+	 */
+	@Override
+	protected String getCohort() {
+		return "students";
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package model.agents;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TransitRegistry {
+
+	/**
+	 * Lazy transit flag. Determines whether in-transit positions are settled
+	 * on demand instead of hop by hop.
+	 */
+	private boolean lazy;
+
+	/**
+	 * Lazy traversals in progress
+	 */
+	private List<Traversal> traversals;
+
+	/**
+	 * Last settled tick
+	 */
+	private double lastSettledTick;
+
+	/**
+	 * Create a new transit registry
+	 * 
+	 * @param lazy Lazy transit flag
+	 */
+	public TransitRegistry(boolean lazy) {
+		this.lazy = lazy;
+		this.traversals = new ArrayList<>();
+		this.lastSettledTick = Double.NaN;
+	}
+
+	/**
+	 * Is lazy?
+	 */
+	public boolean isLazy() {
+		return this.lazy;
+	}
+
+	/**
+	 * Add traversal
+	 * 
+	 * @param traversal Traversal
+	 */
+	public void add(Traversal traversal) {
+		traversal.setTransitIndex(this.traversals.size());
+		this.traversals.add(traversal);
+	}
+
+	/**
+	 * Remove traversal
+	 * 
+	 * @param traversal Traversal
+	 */
+	public void remove(Traversal traversal) {
+		int index = traversal.getTransitIndex();
+		if (index < 0) {
+			return;
+		}
+		int lastIndex = this.traversals.size() - 1;
+		Traversal last = this.traversals.remove(lastIndex);
+		if (last != traversal) {
+			this.traversals.set(index, last);
+			last.setTransitIndex(index);
+		}
+		traversal.setTransitIndex(-1);
+	}
+
+	/**
+	 * Settle the positions of every member in transit at a given tick. It is
+	 * done at most once per tick.
+	 * 
+	 * @param tick Tick
+	 */
+	public void settle(double tick) {
+		if (tick == this.lastSettledTick) {
+			return;
+		}
+		this.lastSettledTick = tick;
+		for (Traversal traversal : this.traversals) {
+			traversal.settle(tick);
+		}
+	}
+
+	/**
+	 * Count members in transit
+	 */
+	public int countTraversals() {
+		return this.traversals.size();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,293 @@
+package model.agents;
+
+import gis.GISPolygon;
+import model.util.RouteTable;
+import repast.simphony.engine.schedule.IAction;
+import repast.simphony.essentials.RepastEssentials;
+import simulation.EventScheduler;
+import util.TickConverter;
+
+public class Traversal implements IAction {
+
+	/**
+	 * Traveling community member
+	 */
+	private CommunityMember member;
+
+	/**
+	 * Route table
+	 */
+	private RouteTable routeTable;
+
+	/**
+	 * Polygons by route table index
+	 */
+	private GISPolygon[] routePolygons;
+
+	/**
+	 * Current vertex
+	 */
+	private int vertex;
+
+	/**
+	 * Next vertex
+	 */
+	private int nextVertex;
+
+	/**
+	 * Sink vertex
+	 */
+	private int sink;
+
+	/**
+	 * Source polygon
+	 */
+	private GISPolygon source;
+
+	/**
+	 * Sink polygon
+	 */
+	private GISPolygon sinkPolygon;
+
+	/**
+	 * Walking speed (unit: meters/minute)
+	 */
+	private double speed;
+
+	/**
+	 * Departure tick
+	 */
+	private double departureTick;
+
+	/**
+	 * Time elapsed since departure up to the next step (unit: minutes)
+	 */
+	private double totalTime;
+
+	/**
+	 * Action to execute after arriving to the sink. It can be null.
+	 */
+	private IAction onArrival;
+
+	/**
+	 * Registry of lazy traversals
+	 */
+	private TransitRegistry transitRegistry;
+
+	/**
+	 * Index in the registry of lazy traversals
+	 */
+	private int transitIndex;
+
+	/**
+	 * Cancellation flag. A cancelled traversal neither moves the member nor
+	 * executes the arrival action.
+	 */
+	private boolean cancelled;
+
+	/**
+	 * Create a new traversal along the shortest route between two polygons.
+	 * It throws an IllegalStateException if there is no route between them.
+	 * 
+	 * @param member    Traveling community member
+	 * @param source    Source polygon
+	 * @param sink      Sink polygon
+	 * @param speed     Walking speed (unit: meters/minute)
+	 * @param onArrival Action to execute after arriving to the sink. It can
+	 *                  be null.
+	 */
+	public Traversal(CommunityMember member, GISPolygon source,
+			GISPolygon sink, double speed, IAction onArrival) {
+		this.member = member;
+		this.routeTable = member.simulationBuilder.routeTable;
+		this.routePolygons = member.simulationBuilder.routePolygons;
+		this.source = source;
+		this.sinkPolygon = sink;
+		this.vertex = source.getRouteIndex();
+		this.sink = sink.getRouteIndex();
+		boolean routed = this.vertex != RouteTable.NO_ROUTE
+				&& this.sink != RouteTable.NO_ROUTE;
+		if (!routed || (this.vertex != this.sink && this.routeTable
+				.getNextHop(this.vertex, this.sink) == RouteTable.NO_ROUTE)) {
+			throw noRoute();
+		}
+		this.speed = speed;
+		this.onArrival = onArrival;
+		this.transitRegistry = member.simulationBuilder.transitRegistry;
+		this.transitIndex = -1;
+	}
+
+	/**
+	 * Start traversal. In eager mode, only the first step is scheduled and
+	 * every step schedules the next one. In lazy mode, only the arrival is
+	 * scheduled and intermediate hops are settled on demand.
+	 */
+	public void start() {
+		this.departureTick = RepastEssentials.GetTickCount();
+		this.totalTime = 0.0;
+		planNextHop();
+		if (this.transitRegistry.isLazy()) {
+			double routeTime = getRouteTime();
+			this.transitRegistry.add(this);
+			this.member.transit = this;
+			double ticks = this.departureTick
+					+ TickConverter.minutesToTicks(routeTime)
+					- RepastEssentials.GetTickCount();
+			EventScheduler eventScheduler = EventScheduler.getInstance();
+			eventScheduler.scheduleOneTimeEvent(ticks, this::arrive);
+		} else {
+			scheduleNextStep();
+		}
+	}
+
+	/**
+	 * Advance one hop
+	 */
+	@Override
+	public void execute() {
+		this.member.relocate(this.routePolygons[this.nextVertex]);
+		this.vertex = this.nextVertex;
+		planNextHop();
+		scheduleNextStep();
+	}
+
+	/**
+	 * Settle position at a given tick. The member is relocated to the last
+	 * vertex reached by then, skipping the intermediate ones.
+	 * 
+	 * @param tick Tick
+	 */
+	public void settle(double tick) {
+		boolean moved = false;
+		while (this.nextVertex != RouteTable.NO_ROUTE
+				&& getNextStepTick() <= tick) {
+			this.vertex = this.nextVertex;
+			moved = true;
+			planNextHop();
+		}
+		if (moved) {
+			this.member.relocate(this.routePolygons[this.vertex]);
+		}
+	}
+
+	/**
+	 * Cancel traversal in lazy mode. It is removed from the registry of lazy
+	 * traversals and its scheduled arrival does nothing. The member stays at
+	 * the last settled vertex.
+	 */
+	public void cancel() {
+		this.cancelled = true;
+		this.transitRegistry.remove(this);
+		if (this.member.transit == this) {
+			this.member.transit = null;
+		}
+	}
+
+	/**
+	 * Get index in the registry of lazy traversals
+	 */
+	public int getTransitIndex() {
+		return this.transitIndex;
+	}
+
+	/**
+	 * Set index in the registry of lazy traversals
+	 * 
+	 * @param transitIndex Index in the registry of lazy traversals
+	 */
+	public void setTransitIndex(int transitIndex) {
+		this.transitIndex = transitIndex;
+	}
+
+	/**
+	 * Arrive to the sink in lazy mode
+	 */
+	private void arrive() {
+		if (this.cancelled) {
+			return;
+		}
+		settle(Double.POSITIVE_INFINITY);
+		this.transitRegistry.remove(this);
+		if (this.member.transit == this) {
+			this.member.transit = null;
+		}
+		if (this.onArrival != null) {
+			double ticks = TickConverter.minutesToTicks(1);
+			EventScheduler eventScheduler = EventScheduler.getInstance();
+			eventScheduler.scheduleOneTimeEvent(ticks, this.onArrival);
+		}
+	}
+
+	/**
+	 * Plan the next hop. The time to reach it is added to the total time.
+	 */
+	private void planNextHop() {
+		this.nextVertex = RouteTable.NO_ROUTE;
+		if (this.vertex != this.sink) {
+			this.nextVertex = this.routeTable.getNextHop(this.vertex,
+					this.sink);
+			if (this.nextVertex == RouteTable.NO_ROUTE) {
+				throw noRoute();
+			}
+		}
+		if (this.nextVertex != RouteTable.NO_ROUTE) {
+			double meters = this.routeTable.getHopDistance(this.vertex,
+					this.sink);
+			this.totalTime += meters / this.speed;
+		}
+	}
+
+	/**
+	 * Create the error for a missing route between the source and the sink
+	 */
+	private IllegalStateException noRoute() {
+		return new IllegalStateException(
+				String.format("No route from polygon %s to polygon %s",
+						this.source.getId(), this.sinkPolygon.getId()));
+	}
+
+	/**
+	 * Schedule the next hop or, after the last one, the arrival action
+	 */
+	private void scheduleNextStep() {
+		EventScheduler eventScheduler = EventScheduler.getInstance();
+		if (this.nextVertex != RouteTable.NO_ROUTE) {
+			eventScheduler.scheduleOneTimeEvent(getTicksToNextStep(), this);
+		} else if (this.onArrival != null) {
+			this.totalTime += 1;
+			eventScheduler.scheduleOneTimeEvent(getTicksToNextStep(),
+					this.onArrival);
+		}
+	}
+
+	/**
+	 * Get time from departure to the sink (unit: minutes)
+	 */
+	private double getRouteTime() {
+		double routeTime = this.totalTime;
+		int hop = this.nextVertex;
+		while (hop != RouteTable.NO_ROUTE && hop != this.sink) {
+			double meters = this.routeTable.getHopDistance(hop, this.sink);
+			routeTime += meters / this.speed;
+			hop = this.routeTable.getNextHop(hop, this.sink);
+		}
+		return routeTime;
+	}
+
+	/**
+	 * Get tick of the next step. Steps are timed from the departure to avoid
+	 * accumulating rounding errors.
+	 */
+	private double getNextStepTick() {
+		return this.departureTick
+				+ TickConverter.minutesToTicks(this.totalTime);
+	}
+
+	/**
+	 * Get ticks from now to the next step
+	 */
+	private double getTicksToNextStep() {
+		return getNextStepTick() - RepastEssentials.GetTickCount();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package model.disease;
+
+public class EpidemicRegistry {
+
+	/**
+	 * Community members by compartment
+	 */
+	private int[] counts;
+
+	/**
+	 * Create a new epidemic registry
+	 */
+	public EpidemicRegistry() {
+		this.counts = new int[Compartment.values().length];
+	}
+
+	/**
+	 * Register a community member
+	 * 
+	 * @param compartment Compartment of the community member
+	 */
+	public void register(Compartment compartment) {
+		this.counts[compartment.ordinal()]++;
+	}
+
+	/**
+	 * Move a community member between compartments
+	 * 
+	 * @param from Current compartment
+	 * @param to   New compartment
+	 */
+	public void move(Compartment from, Compartment to) {
+		this.counts[from.ordinal()]--;
+		this.counts[to.ordinal()]++;
+	}
+
+	/**
+	 * Count community members in a compartment
+	 * 
+	 * @param compartment Compartment
+	 */
+	public int count(Compartment compartment) {
+		return this.counts[compartment.ordinal()];
+	}
+
+	/**
+	 * Get susceptible count
+	 */
+	public int getSusceptibleCount() {
+		return count(Compartment.SUSCEPTIBLE);
+	}
+
+	/**
+	 * Get exposed count
+	 */
+	public int getExposedCount() {
+		return count(Compartment.EXPOSED);
+	}
+
+	/**
+	 * Get infected count
+	 */
+	public int getInfectedCount() {
+		return count(Compartment.INFECTED);
+	}
+
+	/**
+	 * Get immune count
+	 */
+	public int getImmuneCount() {
+		return count(Compartment.IMMUNE);
+	}
+
+	/**
+	 * Get dead count
+	 */
+	public int getDeadCount() {
+		return count(Compartment.DEAD);
+	}
+
+}
\ No newline at end of file
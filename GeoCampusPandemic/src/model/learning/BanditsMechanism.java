@@ -1,19 +1,22 @@
 package model.learning;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import gis.GISPolygon;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import repast.simphony.random.RandomHelper;
-import simulation.ParametersAdapter;
+import simulation.SimulationConfig;
 
 public class BanditsMechanism extends LearningMechanism {
 
 	/**
-	 * Q-values for states
+	 * Q-values for arms, indexed by arm
 	 */
-	protected Map<String, Double> qValues;
+	protected QRow qValues;
+
+	/**
+	 * Q-values read but not applied yet. It is null if there are none.
+	 */
+	protected QRow pendingValues;
 
 	/**
 	 * Epsilon parameter for epsilon-greedy action selection
@@ -28,14 +31,11 @@ public class BanditsMechanism extends LearningMechanism {
 	/**
 	 * Create a new Bandits mechanism
 	 * 
-	 * @param teachingFacilities Teaching facilities
-	 * @param sharedAreas        Shared areas
-	 * @param eatingPlaces       Eating places
+	 * @param config Simulation config
+	 * @param index  Shared state and action index
 	 */
-	public BanditsMechanism(Map<String, GISPolygon> teachingFacilities,
-			Map<String, GISPolygon> sharedAreas,
-			Map<String, GISPolygon> eatingPlaces) {
-		super(teachingFacilities, sharedAreas, eatingPlaces);
+	public BanditsMechanism(SimulationConfig config, LearningIndex index) {
+		super(config, index);
 	}
 
 	/**
@@ -43,19 +43,13 @@ public class BanditsMechanism extends LearningMechanism {
 	 */
 	@Override
 	public void init() {
-		double minInitQValue = ParametersAdapter.getMinimumInitialQValue();
-		double maxInitQValue = ParametersAdapter.getMaximumInitialQValue();
-		this.qValues = new HashMap<>();
-		for (String eatingPlace : this.eatingPlaces.keySet()) {
-			double q = RandomHelper.nextDoubleFromTo(minInitQValue,
-					maxInitQValue);
-			this.qValues.put(eatingPlace, q);
-		}
-		for (String sharedArea : this.sharedAreas.keySet()) {
-			double q = RandomHelper.nextDoubleFromTo(minInitQValue,
-					maxInitQValue);
-			this.qValues.put(sharedArea, q);
-		}
+		double minInitQValue = this.config.getMinimumInitialQValue();
+		double maxInitQValue = this.config.getMaximumInitialQValue();
+		QValueInitializer initializer = new QValueInitializer(minInitQValue,
+				maxInitQValue);
+		double[] values = new double[this.index.getArmCount()];
+		initializer.fill(values, 0);
+		this.qValues = new QRow(values);
 	}
 
 	/**
@@ -63,8 +57,8 @@ public class BanditsMechanism extends LearningMechanism {
 	 */
 	@Override
 	public void fixParameters() {
-		this.epsilon = ParametersAdapter.getEpsilon();
-		this.learningRate = ParametersAdapter.getLearningRate();
+		this.epsilon = this.config.getEpsilon();
+		this.learningRate = this.config.getLearningRate();
 	}
 
 	/**
@@ -75,27 +69,13 @@ public class BanditsMechanism extends LearningMechanism {
 	@Override
 	public String selectAction(String currentLocation) {
 		double r = RandomHelper.nextDoubleFromTo(0, 1);
-		List<String> actions = new ArrayList<>(this.qValues.keySet());
-		int index = -1;
+		int arm = -1;
 		if (r < 1 - this.epsilon) {
-			double topValue = Double.NEGATIVE_INFINITY;
-			List<String> ties = new ArrayList<>();
-			for (String action : actions) {
-				double qValue = this.qValues.get(action);
-				if (qValue > topValue) {
-					topValue = qValue;
-					ties.clear();
-					ties.add(action);
-				} else if (qValue == topValue) {
-					ties.add(action);
-				}
-			}
-			index = RandomHelper.nextIntFromTo(0, ties.size() - 1);
-			return ties.get(index);
+			arm = this.qValues.selectGreedy();
 		} else {
-			index = RandomHelper.nextIntFromTo(0, actions.size() - 1);
-			return actions.get(index);
+			arm = RandomHelper.nextIntFromTo(0, this.qValues.size() - 1);
 		}
+		return this.index.getArmId(arm);
 	}
 
 	/**
@@ -106,9 +86,17 @@ public class BanditsMechanism extends LearningMechanism {
 	 */
 	@Override
 	public void updateLearning(String newState, double reward) {
-		double lastQ = this.qValues.get(newState);
-		double newQ = lastQ + this.learningRate * (reward - lastQ);
-		this.qValues.put(newState, newQ);
+		int arm = this.index.getArmIndex(newState);
+		double lastQ = this.qValues.get(arm);
+		this.qValues.set(arm, lastQ + this.learningRate * (reward - lastQ));
+	}
+
+	/**
+	 * End episode. Bandits reward the arm they arrive at, so there is no last
+	 * action to forget.
+	 */
+	@Override
+	public void endEpisode() {
 	}
 
 	/**
@@ -118,7 +106,66 @@ public class BanditsMechanism extends LearningMechanism {
 	 */
 	@Override
 	public boolean containsState(String state) {
-		return this.qValues.containsKey(state);
+		return this.index.getArmIndex(state) != LearningIndex.NOT_FOUND;
+	}
+
+	/**
+	 * Write learned values
+	 * 
+	 * @param data Data output
+	 */
+	@Override
+	public void writeValues(DataOutput data) throws IOException {
+		data.writeInt(this.qValues.size());
+		for (int i = 0; i < this.qValues.size(); i++) {
+			data.writeDouble(this.qValues.get(i));
+		}
+	}
+
+	/**
+	 * Read learned values. They are kept pending and the current ones are
+	 * left untouched until the pending values are applied.
+	 * 
+	 * @param data Data input
+	 */
+	@Override
+	public void readValues(DataInput data) throws IOException {
+		this.pendingValues = null;
+		int armCount = data.readInt();
+		if (armCount != this.index.getArmCount()) {
+			throw new IOException("Invalid arm count: " + armCount);
+		}
+		double[] values = new double[armCount];
+		for (int i = 0; i < armCount; i++) {
+			values[i] = data.readDouble();
+		}
+		this.pendingValues = new QRow(values);
+	}
+
+	/**
+	 * Apply the learned values read last. They replace the current ones.
+	 */
+	@Override
+	public void applyValues() {
+		if (this.pendingValues == null) {
+			throw new IllegalStateException("No learned values were read");
+		}
+		this.qValues = this.pendingValues;
+		this.pendingValues = null;
+	}
+
+	/**
+	 * Compile the learned values into a frozen policy
+	 * 
+	 * @param policies Frozen policies
+	 */
+	@Override
+	public FrozenPolicy freeze(FrozenPolicyPool policies) {
+		double[] values = new double[this.qValues.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = this.qValues.get(i);
+		}
+		return policies.getArmPolicy(values);
 	}
 
 }
\ No newline at end of file
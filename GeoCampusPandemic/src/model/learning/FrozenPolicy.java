@@ -0,0 +1,64 @@
+package model.learning;
+
+import model.util.AliasTable;
+
+public class FrozenPolicy {
+
+	/**
+	 * Shared state and action index
+	 */
+	private final LearningIndex index;
+
+	/**
+	 * Action samplers by state. Policies over arms have a single sampler.
+	 */
+	private final AliasTable[] samplers;
+
+	/**
+	 * Whether the policy chooses among arms regardless of the state
+	 */
+	private final boolean overArms;
+
+	/**
+	 * Create a new frozen policy. Samplers are compiled by the pool of frozen
+	 * policies.
+	 * 
+	 * @param index    Shared state and action index
+	 * @param samplers Action samplers by state
+	 * @param overArms Whether the policy chooses among arms
+	 */
+	FrozenPolicy(LearningIndex index, AliasTable[] samplers,
+			boolean overArms) {
+		this.index = index;
+		this.samplers = samplers;
+		this.overArms = overArms;
+	}
+
+	/**
+	 * Select action. It takes a single draw.
+	 * 
+	 * @param currentLocation Current location
+	 */
+	public String selectAction(String currentLocation) {
+		if (this.overArms) {
+			return this.index.getArmId(this.samplers[0].sample());
+		}
+		int state = this.index.getStateIndex(currentLocation);
+		int slot = this.index.getRowStart(state)
+				+ this.samplers[state].sample();
+		return this.index.getActionId(slot);
+	}
+
+	/**
+	 * Returns true if this policy contains the specified state
+	 * 
+	 * @param state State
+	 */
+	public boolean containsState(String state) {
+		if (this.overArms) {
+			return this.index.getArmIndex(state) != LearningIndex.NOT_FOUND;
+		}
+		return this.index.getStateIndex(state) != LearningIndex.NOT_FOUND;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,245 @@
+package model.learning;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import model.util.AliasTable;
+import simulation.SimulationConfig;
+
+public class FrozenPolicyPool {
+
+	/**
+	 * Shared state and action index
+	 */
+	private LearningIndex index;
+
+	/**
+	 * Epsilon parameter for epsilon-greedy action selection
+	 */
+	private double epsilon;
+
+	/**
+	 * Action samplers by greedy actions. An epsilon-greedy distribution only
+	 * depends on the number of actions and on which of them are greedy.
+	 */
+	private Map<SamplerKey, AliasTable> samplers;
+
+	/**
+	 * Policies by action samplers
+	 */
+	private Map<PolicyKey, FrozenPolicy> policies;
+
+	/**
+	 * Create a new pool of frozen policies
+	 * 
+	 * @param config Simulation config
+	 * @param index  Shared state and action index
+	 */
+	public FrozenPolicyPool(SimulationConfig config, LearningIndex index) {
+		this.index = index;
+		this.epsilon = config.getEpsilon();
+		this.samplers = new HashMap<>();
+		this.policies = new HashMap<>();
+	}
+
+	/**
+	 * Get the policy over the actions of every state. States with the same
+	 * greedy actions share the same sampler, across learners, and learners
+	 * with the same samplers share the same policy. The values are not kept.
+	 * 
+	 * @param values Q-values by action slot
+	 */
+	public FrozenPolicy getStatePolicy(double[] values) {
+		AliasTable[] stateSamplers = new AliasTable[this.index
+				.getStateCount()];
+		for (int state = 0; state < stateSamplers.length; state++) {
+			stateSamplers[state] = getSampler(values,
+					this.index.getRowStart(state), this.index.getRowEnd(state));
+		}
+		return this.policies.computeIfAbsent(
+				new PolicyKey(false, stateSamplers),
+				key -> new FrozenPolicy(this.index, stateSamplers, false));
+	}
+
+	/**
+	 * Get the policy over arms. Learners with the same greedy arms share the
+	 * same policy. The values are not kept.
+	 * 
+	 * @param values Q-values by arm
+	 */
+	public FrozenPolicy getArmPolicy(double[] values) {
+		AliasTable[] armSamplers = { getSampler(values, 0, values.length) };
+		return this.policies.computeIfAbsent(new PolicyKey(true, armSamplers),
+				key -> new FrozenPolicy(this.index, armSamplers, true));
+	}
+
+	/**
+	 * Get policy count
+	 */
+	public int getPolicyCount() {
+		return this.policies.size();
+	}
+
+	/**
+	 * Get sampler count
+	 */
+	public int getSamplerCount() {
+		return this.samplers.size();
+	}
+
+	/**
+	 * Get the sampler of the epsilon-greedy distribution of a range of
+	 * Q-values. It is compiled on first use.
+	 * 
+	 * @param values Q-values
+	 * @param start  First position
+	 * @param end    Position after the last one
+	 */
+	private AliasTable getSampler(double[] values, int start, int end) {
+		double maxValue = Double.NEGATIVE_INFINITY;
+		for (int i = start; i < end; i++) {
+			if (values[i] > maxValue) {
+				maxValue = values[i];
+			}
+		}
+		BitSet greedy = new BitSet(end - start);
+		for (int i = start; i < end; i++) {
+			if (values[i] == maxValue) {
+				greedy.set(i - start);
+			}
+		}
+		return this.samplers.computeIfAbsent(
+				new SamplerKey(end - start, greedy), this::compile);
+	}
+
+	/**
+	 * Compile the epsilon-greedy distribution of a set of greedy actions.
+	 * Greedy actions share 1 - epsilon and every action gets an equal share
+	 * of epsilon.
+	 * 
+	 * @param key Greedy actions
+	 */
+	private AliasTable compile(SamplerKey key) {
+		int ties = key.greedy.cardinality();
+		double[] weights = new double[key.actions];
+		for (int i = 0; i < key.actions; i++) {
+			weights[i] = this.epsilon / key.actions;
+			if (key.greedy.get(i)) {
+				weights[i] += (1 - this.epsilon) / ties;
+			}
+		}
+		return new AliasTable(weights);
+	}
+
+	/**
+	 * Greedy actions that identify a sampler
+	 */
+	private static class SamplerKey {
+
+		/**
+		 * Number of actions
+		 */
+		private int actions;
+
+		/**
+		 * Greedy actions
+		 */
+		private BitSet greedy;
+
+		/**
+		 * Create a new sampler key
+		 * 
+		 * @param actions Number of actions
+		 * @param greedy  Greedy actions
+		 */
+		public SamplerKey(int actions, BitSet greedy) {
+			this.actions = actions;
+			this.greedy = greedy;
+		}
+
+		/**
+		 * Get hash code
+		 */
+		@Override
+		public int hashCode() {
+			return 31 * this.actions + this.greedy.hashCode();
+		}
+
+		/**
+		 * Compare with another key
+		 * 
+		 * @param obj Object
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof SamplerKey)) {
+				return false;
+			}
+			SamplerKey other = (SamplerKey) obj;
+			return this.actions == other.actions
+					&& this.greedy.equals(other.greedy);
+		}
+
+	}
+
+	/**
+	 * Action samplers that identify a policy. Samplers are compared by
+	 * identity, since the pool holds a single sampler per content.
+	 */
+	private static class PolicyKey {
+
+		/**
+		 * Whether the policy chooses among arms
+		 */
+		private boolean overArms;
+
+		/**
+		 * Action samplers
+		 */
+		private AliasTable[] samplers;
+
+		/**
+		 * Hash code
+		 */
+		private int hashCode;
+
+		/**
+		 * Create a new policy key
+		 * 
+		 * @param overArms Whether the policy chooses among arms
+		 * @param samplers Action samplers
+		 */
+		public PolicyKey(boolean overArms, AliasTable[] samplers) {
+			this.overArms = overArms;
+			this.samplers = samplers;
+			this.hashCode = 31 * Boolean.hashCode(overArms)
+					+ Arrays.hashCode(samplers);
+		}
+
+		/**
+		 * Get hash code
+		 */
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+		/**
+		 * Compare with another key
+		 * 
+		 * @param obj Object
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof PolicyKey)) {
+				return false;
+			}
+			PolicyKey other = (PolicyKey) obj;
+			return this.overArms == other.overArms
+					&& Arrays.equals(this.samplers, other.samplers);
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -1,7 +1,6 @@
 package model.learning;
 
-import java.util.Map;
-import gis.GISPolygon;
+import simulation.SimulationConfig;
 
 public final class LearningFactory {
 
@@ -16,18 +15,24 @@ public final class LearningFactory {
 	 * Instantiate a new learning mechanism
 	 * 
 	 * @param learningStyle Learning style
+	 * @param config        Simulation config
+	 * @param index         Shared state and action index
+	 * @param tables        Shared Q-tables
+	 * @param cohort        Cohort of the learner
 	 */
 	public static LearningMechanism makeLearningMechanism(
-			LearningStyle learningStyle,
-			Map<String, GISPolygon> teachingFacilities,
-			Map<String, GISPolygon> sharedAreas,
-			Map<String, GISPolygon> eatingPlaces) {
+			LearningStyle learningStyle, SimulationConfig config,
+			LearningIndex index, SharedQTablePool tables, String cohort) {
 		if (learningStyle == LearningStyle.Q_LEARNING) {
-			return new QLearningMechanism(teachingFacilities, sharedAreas,
-					eatingPlaces);
+			return new QLearningMechanism(config, index);
 		} else if (learningStyle == LearningStyle.BANDITS) {
-			return new BanditsMechanism(teachingFacilities, sharedAreas,
-					eatingPlaces);
+			return new BanditsMechanism(config, index);
+		} else if (learningStyle == LearningStyle.SHARED_Q_LEARNING) {
+			SharedQTable table = tables.getTable(SharedQTablePool.POPULATION);
+			return new SharedQLearningMechanism(config, index, table);
+		} else if (learningStyle == LearningStyle.COHORT_Q_LEARNING) {
+			SharedQTable table = tables.getTable(cohort);
+			return new SharedQLearningMechanism(config, index, table);
 		} else {
 			return null;
 		}
@@ -0,0 +1,200 @@
+package model.learning;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import gis.GISPolygon;
+
+public class LearningIndex {
+
+	/**
+	 * Marker for ids outside the index
+	 */
+	public static final int NOT_FOUND = -1;
+
+	/**
+	 * State ids by state index
+	 */
+	private String[] stateIds;
+
+	/**
+	 * State indexes by state id
+	 */
+	private Map<String, Integer> stateIndexes;
+
+	/**
+	 * First action slot of every state. Slots of state s go from
+	 * rowStarts[s] (inclusive) to rowStarts[s + 1] (exclusive).
+	 */
+	private int[] rowStarts;
+
+	/**
+	 * Destination id of every action slot
+	 */
+	private String[] actionIds;
+
+	/**
+	 * Arm ids by arm index
+	 */
+	private String[] armIds;
+
+	/**
+	 * Arm indexes by arm id
+	 */
+	private Map<String, Integer> armIndexes;
+
+	/**
+	 * Create a new learning index. It is shared by every learner of a run.
+	 * 
+	 * TD-learning states are teaching facilities, shared areas and eating
+	 * places. Their actions are the places an agent can go to next: shared
+	 * areas and eating places from teaching facilities, eating places and
+	 * other shared areas from shared areas, and shared areas from eating
+	 * places. Bandit arms are eating places and shared areas.
+	 * 
+	 * @param teachingFacilities Teaching facilities
+	 * @param sharedAreas        Shared areas
+	 * @param eatingPlaces       Eating places
+	 */
+	public LearningIndex(Map<String, GISPolygon> teachingFacilities,
+			Map<String, GISPolygon> sharedAreas,
+			Map<String, GISPolygon> eatingPlaces) {
+		List<String> states = new ArrayList<>();
+		List<Integer> rowStarts = new ArrayList<>();
+		List<String> actions = new ArrayList<>();
+		for (String teachingFacility : teachingFacilities.keySet()) {
+			states.add(teachingFacility);
+			rowStarts.add(actions.size());
+			actions.addAll(sharedAreas.keySet());
+			actions.addAll(eatingPlaces.keySet());
+		}
+		for (String sharedArea : sharedAreas.keySet()) {
+			states.add(sharedArea);
+			rowStarts.add(actions.size());
+			actions.addAll(eatingPlaces.keySet());
+			for (String nextSharedArea : sharedAreas.keySet()) {
+				if (!sharedArea.equals(nextSharedArea)) {
+					actions.add(nextSharedArea);
+				}
+			}
+		}
+		for (String eatingPlace : eatingPlaces.keySet()) {
+			states.add(eatingPlace);
+			rowStarts.add(actions.size());
+			actions.addAll(sharedAreas.keySet());
+		}
+		rowStarts.add(actions.size());
+		this.stateIds = states.toArray(new String[0]);
+		this.stateIndexes = new HashMap<>();
+		for (int i = 0; i < this.stateIds.length; i++) {
+			this.stateIndexes.put(this.stateIds[i], i);
+		}
+		this.rowStarts = new int[rowStarts.size()];
+		for (int i = 0; i < this.rowStarts.length; i++) {
+			this.rowStarts[i] = rowStarts.get(i);
+		}
+		this.actionIds = actions.toArray(new String[0]);
+		// Arms follow the iteration order of a map keyed by arm id, as
+		// bandit learners used to, so seeded runs draw the same arms
+		Map<String, Integer> arms = new HashMap<>();
+		for (String eatingPlace : eatingPlaces.keySet()) {
+			arms.put(eatingPlace, NOT_FOUND);
+		}
+		for (String sharedArea : sharedAreas.keySet()) {
+			arms.put(sharedArea, NOT_FOUND);
+		}
+		this.armIds = arms.keySet().toArray(new String[0]);
+		this.armIndexes = new HashMap<>();
+		for (int i = 0; i < this.armIds.length; i++) {
+			this.armIndexes.put(this.armIds[i], i);
+		}
+	}
+
+	/**
+	 * Get state count
+	 */
+	public int getStateCount() {
+		return this.stateIds.length;
+	}
+
+	/**
+	 * Get state index. It returns NOT_FOUND if the id is not a state.
+	 * 
+	 * @param stateId State id
+	 */
+	public int getStateIndex(String stateId) {
+		Integer index = this.stateIndexes.get(stateId);
+		return index == null ? NOT_FOUND : index;
+	}
+
+	/**
+	 * Get state id
+	 * 
+	 * @param state State index
+	 */
+	public String getStateId(int state) {
+		return this.stateIds[state];
+	}
+
+	/**
+	 * Get first action slot of a state
+	 * 
+	 * @param state State index
+	 */
+	public int getRowStart(int state) {
+		return this.rowStarts[state];
+	}
+
+	/**
+	 * Get the slot after the last action slot of a state
+	 * 
+	 * @param state State index
+	 */
+	public int getRowEnd(int state) {
+		return this.rowStarts[state + 1];
+	}
+
+	/**
+	 * Get action slot count of all states
+	 */
+	public int getActionCount() {
+		return this.actionIds.length;
+	}
+
+	/**
+	 * Get destination id of an action slot
+	 * 
+	 * @param slot Action slot
+	 */
+	public String getActionId(int slot) {
+		return this.actionIds[slot];
+	}
+
+	/**
+	 * Get arm count
+	 */
+	public int getArmCount() {
+		return this.armIds.length;
+	}
+
+	/**
+	 * Get arm index. It returns NOT_FOUND if the id is not an arm.
+	 * 
+	 * @param armId Arm id
+	 */
+	public int getArmIndex(String armId) {
+		Integer index = this.armIndexes.get(armId);
+		return index == null ? NOT_FOUND : index;
+	}
+
+	/**
+	 * Get arm id
+	 * 
+	 * @param arm Arm index
+	 */
+	public String getArmId(int arm) {
+		return this.armIds[arm];
+	}
+
+}
\ No newline at end of file
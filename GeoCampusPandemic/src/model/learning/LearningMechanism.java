@@ -1,38 +1,31 @@
 package model.learning;
 
-import java.util.Map;
-import gis.GISPolygon;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import simulation.SimulationConfig;
 
 public abstract class LearningMechanism {
 
 	/**
-	 * Teaching facilities
+	 * Simulation config
 	 */
-	protected Map<String, GISPolygon> teachingFacilities;
+	protected SimulationConfig config;
 
 	/**
-	 * Shared areas
+	 * Shared state and action index
 	 */
-	protected Map<String, GISPolygon> sharedAreas;
-
-	/**
-	 * Eating places
-	 */
-	protected Map<String, GISPolygon> eatingPlaces;
+	protected LearningIndex index;
 
 	/**
 	 * Create a new learning mechanism
 	 * 
-	 * @param teachingFacilities Teaching facilities
-	 * @param sharedAreas        Shared areas
-	 * @param eatingPlaces       Eating places
+	 * @param config Simulation config
+	 * @param index  Shared state and action index
 	 */
-	public LearningMechanism(Map<String, GISPolygon> teachingFacilities,
-			Map<String, GISPolygon> sharedAreas,
-			Map<String, GISPolygon> eatingPlaces) {
-		this.teachingFacilities = teachingFacilities;
-		this.sharedAreas = sharedAreas;
-		this.eatingPlaces = eatingPlaces;
+	public LearningMechanism(SimulationConfig config, LearningIndex index) {
+		this.config = config;
+		this.index = index;
 		init();
 		fixParameters();
 	}
@@ -62,6 +55,11 @@ public abstract class LearningMechanism {
 	 */
 	public abstract void updateLearning(String newState, double reward);
 
+	/**
+	 * End episode. The next reward is not credited to the last action.
+	 */
+	public abstract void endEpisode();
+
 	/**
 	 * Returns true if this learning mechanism contains the specified state
 	 * 
@@ -69,4 +67,31 @@ public abstract class LearningMechanism {
 	 */
 	public abstract boolean containsState(String state);
 
+	/**
+	 * Write learned values
+	 * 
+	 * @param data Data output
+	 */
+	public abstract void writeValues(DataOutput data) throws IOException;
+
+	/**
+	 * Read learned values. They are kept pending and the current ones are
+	 * left untouched until the pending values are applied.
+	 * 
+	 * @param data Data input
+	 */
+	public abstract void readValues(DataInput data) throws IOException;
+
+	/**
+	 * Apply the learned values read last. They replace the current ones.
+	 */
+	public abstract void applyValues();
+
+	/**
+	 * Compile the learned values into a frozen policy
+	 * 
+	 * @param policies Frozen policies
+	 */
+	public abstract FrozenPolicy freeze(FrozenPolicyPool policies);
+
 }
\ No newline at end of file
@@ -1,5 +1,45 @@
 package model.learning;
 
 public enum LearningStyle {
-	Q_LEARNING, BANDITS
+	Q_LEARNING("Q-learning"),
+	BANDITS("Bandits"),
+	SHARED_Q_LEARNING("Shared Q-learning"),
+	COHORT_Q_LEARNING("Cohort Q-learning");
+
+	/**
+	 * Value of the learning style parameter
+	 */
+	private final String parameterValue;
+
+	/**
+	 * Create a new learning style
+	 * 
+	 * @param parameterValue Value of the learning style parameter
+	 */
+	LearningStyle(String parameterValue) {
+		this.parameterValue = parameterValue;
+	}
+
+	/**
+	 * Get value of the learning style parameter
+	 */
+	public String getParameterValue() {
+		return this.parameterValue;
+	}
+
+	/**
+	 * Get the learning style of a parameter value. It returns null if
+	 * the value is unknown.
+	 * 
+	 * @param parameterValue Value of the learning style parameter
+	 */
+	public static LearningStyle fromParameterValue(String parameterValue) {
+		for (LearningStyle value : values()) {
+			if (value.parameterValue.equals(parameterValue)) {
+				return value;
+			}
+		}
+		return null;
+	}
+
 }
\ No newline at end of file
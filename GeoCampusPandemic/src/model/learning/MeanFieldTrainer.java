@@ -0,0 +1,259 @@
+package model.learning;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import gis.GISDensityMeter;
+import gis.GISPolygon;
+import model.util.AliasTable;
+import repast.simphony.random.RandomHelper;
+import simulation.SimulationConfig;
+
+public class MeanFieldTrainer {
+
+	/**
+	 * Rounds per convergence window
+	 */
+	public static final int WINDOW = 20;
+
+	/**
+	 * Convergence tolerance. Training stops once the occupancy shares of two
+	 * consecutive windows are this close (L1 distance), or once they are
+	 * within sampling noise of each other.
+	 */
+	public static final double TOLERANCE = 0.01;
+
+	/**
+	 * Distances up to this multiple of the expected sampling noise count as
+	 * converged
+	 */
+	public static final double NOISE_FACTOR = 1.5;
+
+	/**
+	 * Expected number of rounds every learner takes part in before training
+	 * can stop
+	 */
+	public static final int MIN_VISITS = 50;
+
+	/**
+	 * Shared state and action index
+	 */
+	private LearningIndex index;
+
+	/**
+	 * Social distancing (unit: meters)
+	 */
+	private double socialDistancing;
+
+	/**
+	 * Share of learners that take part in every round
+	 */
+	private double activeShare;
+
+	/**
+	 * Area by state index (unit: square meters). States without a density
+	 * meter have an infinite area.
+	 */
+	private double[] areas;
+
+	/**
+	 * State index of every teaching facility
+	 */
+	private int[] origins;
+
+	/**
+	 * Sampler of teaching facilities by weight
+	 */
+	private AliasTable originSampler;
+
+	/**
+	 * Create a new mean-field trainer. Learners are trained on the occupancy
+	 * of teaching facilities, shared areas and eating places alone, without
+	 * geography, routes or disease.
+	 * 
+	 * @param config             Simulation config
+	 * @param index              Shared state and action index
+	 * @param teachingFacilities Teaching facilities
+	 * @param sharedAreas        Shared areas
+	 * @param eatingPlaces       Eating places
+	 */
+	public MeanFieldTrainer(SimulationConfig config, LearningIndex index,
+			Map<String, GISPolygon> teachingFacilities,
+			Map<String, GISPolygon> sharedAreas,
+			Map<String, GISPolygon> eatingPlaces) {
+		this.index = index;
+		this.socialDistancing = config.getSocialDistancing();
+		this.activeShare = config.getPreTrainingActiveShare();
+		this.areas = new double[index.getStateCount()];
+		for (int state = 0; state < this.areas.length; state++) {
+			String id = index.getStateId(state);
+			GISPolygon polygon = teachingFacilities.get(id);
+			if (polygon == null) {
+				polygon = sharedAreas.get(id);
+			}
+			if (polygon == null) {
+				polygon = eatingPlaces.get(id);
+			}
+			this.areas[state] = Double.POSITIVE_INFINITY;
+			if (polygon instanceof GISDensityMeter) {
+				this.areas[state] = ((GISDensityMeter) polygon).getArea();
+			}
+		}
+		List<String> ids = new ArrayList<>(teachingFacilities.keySet());
+		this.origins = new int[ids.size()];
+		double[] weights = new double[ids.size()];
+		double totalWeight = 0;
+		for (int i = 0; i < this.origins.length; i++) {
+			this.origins[i] = index.getStateIndex(ids.get(i));
+			weights[i] = Math.max(teachingFacilities.get(ids.get(i))
+					.getWeight(), 0);
+			totalWeight += weights[i];
+		}
+		if (totalWeight <= 0) {
+			for (int i = 0; i < weights.length; i++) {
+				weights[i] = 1;
+			}
+		}
+		this.originSampler = new AliasTable(weights);
+	}
+
+	/**
+	 * Train learners. Every round, each learner takes part with the active
+	 * share probability. Active learners arrive at a teaching facility drawn
+	 * by weight and then choose a place to go, as students do between
+	 * classes. Rewards are the ones of the simulation, computed from how many
+	 * active learners share each place in the round. Learners that can't
+	 * choose from a teaching facility go to a random arm, as agents do in
+	 * the simulation. It returns the number of rounds run.
+	 * 
+	 * @param learners  Learners
+	 * @param maxRounds Maximum number of rounds
+	 */
+	public int train(List<LearningMechanism> learners, int maxRounds) {
+		int stateCount = this.index.getStateCount();
+		int[] origins = new int[learners.size()];
+		int[] destinations = new int[learners.size()];
+		int[] occupancy = new int[stateCount];
+		long[] windowOccupancy = new long[stateCount];
+		long windowArrivals = 0;
+		double[] lastShares = null;
+		int minRounds = (int) Math.ceil(MIN_VISITS / this.activeShare);
+		int round = 0;
+		while (round < maxRounds) {
+			// Arrive at teaching facilities
+			Arrays.fill(occupancy, 0);
+			for (int i = 0; i < learners.size(); i++) {
+				origins[i] = LearningIndex.NOT_FOUND;
+				if (RandomHelper.nextDoubleFromTo(0, 1) < this.activeShare) {
+					origins[i] = this.origins[this.originSampler.sample()];
+					occupancy[origins[i]]++;
+				}
+			}
+			// Choose places to go
+			for (int i = 0; i < learners.size(); i++) {
+				if (origins[i] != LearningIndex.NOT_FOUND) {
+					LearningMechanism learner = learners.get(i);
+					reward(learner, origins[i], occupancy[origins[i]]);
+					destinations[i] = chooseDestination(learner, origins[i]);
+				}
+			}
+			// Arrive at places
+			Arrays.fill(occupancy, 0);
+			int arrivals = 0;
+			for (int i = 0; i < learners.size(); i++) {
+				if (origins[i] != LearningIndex.NOT_FOUND) {
+					occupancy[destinations[i]]++;
+					arrivals++;
+				}
+			}
+			for (int i = 0; i < learners.size(); i++) {
+				if (origins[i] != LearningIndex.NOT_FOUND) {
+					reward(learners.get(i), destinations[i],
+							occupancy[destinations[i]]);
+				}
+			}
+			round++;
+			// Check convergence
+			for (int state = 0; state < stateCount; state++) {
+				windowOccupancy[state] += occupancy[state];
+			}
+			windowArrivals += arrivals;
+			if (round % WINDOW == 0 && windowArrivals > 0) {
+				double[] shares = new double[stateCount];
+				double noise = 0;
+				for (int state = 0; state < stateCount; state++) {
+					double share = (double) windowOccupancy[state]
+							/ windowArrivals;
+					shares[state] = share;
+					noise += Math.sqrt(4 * share * (1 - share)
+							/ (Math.PI * windowArrivals));
+				}
+				if (round >= minRounds && lastShares != null) {
+					double distance = distance(shares, lastShares);
+					if (distance <= Math.max(TOLERANCE, NOISE_FACTOR * noise)) {
+						break;
+					}
+				}
+				lastShares = shares;
+				Arrays.fill(windowOccupancy, 0);
+				windowArrivals = 0;
+			}
+		}
+		for (LearningMechanism learner : learners) {
+			learner.endEpisode();
+		}
+		return round;
+	}
+
+	/**
+	 * Reward a learner for arriving at a place
+	 * 
+	 * @param learner   Learner
+	 * @param state     State index of the place
+	 * @param occupants Number of learners at the place
+	 */
+	private void reward(LearningMechanism learner, int state, int occupants) {
+		String place = this.index.getStateId(state);
+		if (learner.containsState(place)) {
+			double density = occupants / this.areas[state];
+			double reward = (1.0 / this.socialDistancing) - density;
+			learner.updateLearning(place, reward);
+		}
+	}
+
+	/**
+	 * Choose a place to go from a teaching facility. It returns the state
+	 * index of the place.
+	 * 
+	 * @param learner Learner
+	 * @param state   State index of the teaching facility
+	 */
+	private int chooseDestination(LearningMechanism learner, int state) {
+		String origin = this.index.getStateId(state);
+		String destination;
+		if (learner.containsState(origin)) {
+			destination = learner.selectAction(origin);
+		} else {
+			int arm = RandomHelper.nextIntFromTo(0,
+					this.index.getArmCount() - 1);
+			destination = this.index.getArmId(arm);
+		}
+		return this.index.getStateIndex(destination);
+	}
+
+	/**
+	 * Compute the L1 distance between two vectors
+	 * 
+	 * @param a Vector
+	 * @param b Vector
+	 */
+	private static double distance(double[] a, double[] b) {
+		double distance = 0;
+		for (int i = 0; i < a.length; i++) {
+			distance += Math.abs(a[i] - b[i]);
+		}
+		return distance;
+	}
+
+}
\ No newline at end of file
@@ -1,23 +1,17 @@
 package model.learning;
 
-import java.util.List;
-import java.util.Map;
-import gis.GISPolygon;
-import repast.simphony.util.collections.Pair;
+import simulation.SimulationConfig;
 
 public class QLearningMechanism extends TDLearningMechanism {
 
 	/**
 	 * Create a new Q-learning mechanism
 	 * 
-	 * @param teachingFacilities Teaching facilities
-	 * @param sharedAreas        Shared areas
-	 * @param eatingPlaces       Eating places
+	 * @param config Simulation config
+	 * @param index  Shared state and action index
 	 */
-	public QLearningMechanism(Map<String, GISPolygon> teachingFacilities,
-			Map<String, GISPolygon> sharedAreas,
-			Map<String, GISPolygon> eatingPlaces) {
-		super(teachingFacilities, sharedAreas, eatingPlaces);
+	public QLearningMechanism(SimulationConfig config, LearningIndex index) {
+		super(config, index);
 	}
 
 	/**
@@ -28,31 +22,16 @@ public class QLearningMechanism extends TDLearningMechanism {
 	 */
 	@Override
 	public void updateLearning(String newState, double reward) {
-		if (this.lastState != null) {
-			double maxQ = Double.NEGATIVE_INFINITY;
-			List<Pair<String, Double>> newStateActionValues = this.qValues
-					.get(newState);
-			for (Pair<String, Double> stateActionValue : newStateActionValues) {
-				double q = stateActionValue.getSecond();
-				if (q > maxQ) {
-					maxQ = q;
-				}
-			}
-			List<Pair<String, Double>> lastStateActionValues = this.qValues
-					.get(this.lastState);
-			for (int i = 0; i < lastStateActionValues.size(); i++) {
-				Pair<String, Double> stateActionValue = lastStateActionValues
-						.get(i);
-				String action = stateActionValue.getFirst();
-				if (action.equals(this.lastAction)) {
-					double q = stateActionValue.getSecond();
-					q = q + this.learningRate
-							* (reward + this.discountFactor * maxQ - q);
-					stateActionValue.setSecond(q);
-					lastStateActionValues.set(i, stateActionValue);
-				}
-			}
-			this.qValues.put(this.lastState, lastStateActionValues);
+		if (this.lastState != LearningIndex.NOT_FOUND) {
+			int state = this.index.getStateIndex(newState);
+			double maxQ = getMaxQValue(state);
+			QRow row = getRow(this.lastState);
+			int action = this.lastAction
+					- this.index.getRowStart(this.lastState);
+			double q = row.get(action);
+			q = q + this.learningRate
+					* (reward + this.discountFactor * maxQ - q);
+			row.set(action, q);
 		}
 	}
 
@@ -0,0 +1,141 @@
+package model.learning;
+
+import repast.simphony.random.RandomHelper;
+
+public class QRow {
+
+	/**
+	 * Q-values
+	 */
+	private double[] values;
+
+	/**
+	 * Positions holding the top value, in ascending order
+	 */
+	private int[] ties;
+
+	/**
+	 * Number of positions holding the top value
+	 */
+	private int tieCount;
+
+	/**
+	 * Top value
+	 */
+	private double topValue;
+
+	/**
+	 * Create a new row of Q-values. The row takes ownership of the values.
+	 * 
+	 * @param values Q-values
+	 */
+	public QRow(double[] values) {
+		this.values = values;
+		this.ties = new int[values.length];
+		rescan();
+	}
+
+	/**
+	 * Get Q-value
+	 * 
+	 * @param position Position
+	 */
+	public double get(int position) {
+		return this.values[position];
+	}
+
+	/**
+	 * Set Q-value. The top value and its positions are updated in place, and
+	 * the row is only scanned again if the last top position drops.
+	 * 
+	 * @param position Position
+	 * @param value    Q-value
+	 */
+	public void set(int position, double value) {
+		double oldValue = this.values[position];
+		this.values[position] = value;
+		if (value > this.topValue) {
+			this.topValue = value;
+			this.ties[0] = position;
+			this.tieCount = 1;
+		} else if (value == this.topValue) {
+			if (oldValue != this.topValue) {
+				insertTie(position);
+			}
+		} else if (oldValue == this.topValue) {
+			removeTie(position);
+			if (this.tieCount == 0) {
+				rescan();
+			}
+		}
+	}
+
+	/**
+	 * Get size
+	 */
+	public int size() {
+		return this.values.length;
+	}
+
+	/**
+	 * Get maximum Q-value
+	 */
+	public double getMaxValue() {
+		return this.topValue;
+	}
+
+	/**
+	 * Select a greedy position. Ties are broken uniformly at random with a
+	 * single draw, in ascending order of position.
+	 */
+	public int selectGreedy() {
+		int tie = RandomHelper.nextIntFromTo(0, this.tieCount - 1);
+		return this.ties[tie];
+	}
+
+	/**
+	 * Find the top value and its positions
+	 */
+	private void rescan() {
+		this.topValue = Double.NEGATIVE_INFINITY;
+		this.tieCount = 0;
+		for (int i = 0; i < this.values.length; i++) {
+			if (this.values[i] > this.topValue) {
+				this.topValue = this.values[i];
+				this.ties[0] = i;
+				this.tieCount = 1;
+			} else if (this.values[i] == this.topValue) {
+				this.ties[this.tieCount++] = i;
+			}
+		}
+	}
+
+	/**
+	 * Insert a top position, keeping ascending order
+	 * 
+	 * @param position Position
+	 */
+	private void insertTie(int position) {
+		int i = this.tieCount++;
+		while (i > 0 && this.ties[i - 1] > position) {
+			this.ties[i] = this.ties[i - 1];
+			i--;
+		}
+		this.ties[i] = position;
+	}
+
+	/**
+	 * Remove a top position, keeping ascending order
+	 * 
+	 * @param position Position
+	 */
+	private void removeTie(int position) {
+		int i = 0;
+		while (this.ties[i] != position) {
+			i++;
+		}
+		this.tieCount--;
+		System.arraycopy(this.ties, i + 1, this.ties, i, this.tieCount - i);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package model.learning;
+
+import repast.simphony.random.RandomHelper;
+
+public class QValueInitializer {
+
+	/**
+	 * Golden ratio increment of the SplitMix64 generator
+	 */
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	/**
+	 * Scale from 53 random bits to a double in [0, 1)
+	 */
+	private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+	/**
+	 * Minimum initial Q-value
+	 */
+	private double minInitQValue;
+
+	/**
+	 * Maximum initial Q-value
+	 */
+	private double maxInitQValue;
+
+	/**
+	 * Seed of the derived stream
+	 */
+	private long seed;
+
+	/**
+	 * Create a new Q-value initializer. Unless every initial Q-value is the
+	 * same, it takes a single draw from the simulation's random generator
+	 * to seed a derived stream. The initial value of every slot is then a
+	 * function of that seed and the slot, so it does not depend on when the
+	 * slot is first visited.
+	 * 
+	 * @param minInitQValue Minimum initial Q-value
+	 * @param maxInitQValue Maximum initial Q-value
+	 */
+	public QValueInitializer(double minInitQValue, double maxInitQValue) {
+		this.minInitQValue = minInitQValue;
+		this.maxInitQValue = maxInitQValue;
+		if (!isConstant()) {
+			this.seed = RandomHelper.nextInt();
+		}
+	}
+
+	/**
+	 * Is every initial Q-value the same?
+	 */
+	public boolean isConstant() {
+		return this.minInitQValue == this.maxInitQValue;
+	}
+
+	/**
+	 * Get initial Q-value of a slot
+	 * 
+	 * @param slot Slot
+	 */
+	public double getValue(int slot) {
+		if (isConstant()) {
+			return this.minInitQValue;
+		}
+		long bits = mix(this.seed + (slot + 1) * GOLDEN_GAMMA);
+		double u = (bits >>> 11) * DOUBLE_UNIT;
+		return this.minInitQValue
+				+ u * (this.maxInitQValue - this.minInitQValue);
+	}
+
+	/**
+	 * Fill values with the initial Q-values of consecutive slots
+	 * 
+	 * @param values    Values
+	 * @param firstSlot Slot of the first value
+	 */
+	public void fill(double[] values, int firstSlot) {
+		for (int i = 0; i < values.length; i++) {
+			values[i] = getValue(firstSlot + i);
+		}
+	}
+
+	/**
+	 * SplitMix64 finalizer
+	 * 
+	 * @param z Value to mix
+	 */
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+}
\ No newline at end of file
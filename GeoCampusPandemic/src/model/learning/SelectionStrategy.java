@@ -1,5 +1,44 @@
 package model.learning;
 
 public enum SelectionStrategy {
-	WEIGHT_BASED, RL_BASED, RANDOM
+	WEIGHT_BASED("weight-based"),
+	RL_BASED("RL-based"),
+	RANDOM("random");
+
+	/**
+	 * Value of the selection strategy parameter
+	 */
+	private final String parameterValue;
+
+	/**
+	 * Create a new selection strategy
+	 * 
+	 * @param parameterValue Value of the selection strategy parameter
+	 */
+	SelectionStrategy(String parameterValue) {
+		this.parameterValue = parameterValue;
+	}
+
+	/**
+	 * Get value of the selection strategy parameter
+	 */
+	public String getParameterValue() {
+		return this.parameterValue;
+	}
+
+	/**
+	 * Get the selection strategy of a parameter value. It returns null if
+	 * the value is unknown.
+	 * 
+	 * @param parameterValue Value of the selection strategy parameter
+	 */
+	public static SelectionStrategy fromParameterValue(String parameterValue) {
+		for (SelectionStrategy value : values()) {
+			if (value.parameterValue.equals(parameterValue)) {
+				return value;
+			}
+		}
+		return null;
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,171 @@
+package model.learning;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import repast.simphony.random.RandomHelper;
+import simulation.SimulationConfig;
+
+public class SharedQLearningMechanism extends LearningMechanism {
+
+	/**
+	 * Shared Q-table
+	 */
+	protected SharedQTable table;
+
+	/**
+	 * Last state index
+	 */
+	protected int lastState;
+
+	/**
+	 * Last action slot
+	 */
+	protected int lastAction;
+
+	/**
+	 * Epsilon parameter for epsilon-greedy action selection
+	 */
+	protected double epsilon;
+
+	/**
+	 * Learning rate for update rule
+	 */
+	protected double learningRate;
+
+	/**
+	 * Discount factor for update rule
+	 */
+	protected double discountFactor;
+
+	/**
+	 * Create a new Q-learning mechanism over a shared Q-table. The learner
+	 * only keeps its last state and action.
+	 * 
+	 * @param config Simulation config
+	 * @param index  Shared state and action index
+	 * @param table  Shared Q-table
+	 */
+	public SharedQLearningMechanism(SimulationConfig config,
+			LearningIndex index, SharedQTable table) {
+		super(config, index);
+		this.table = table;
+	}
+
+	/**
+	 * Initialize learning
+	 */
+	@Override
+	public void init() {
+		this.lastState = LearningIndex.NOT_FOUND;
+		this.lastAction = LearningIndex.NOT_FOUND;
+	}
+
+	/**
+	 * Fix learning parameters
+	 */
+	@Override
+	public void fixParameters() {
+		this.epsilon = this.config.getEpsilon();
+		this.learningRate = this.config.getLearningRate();
+		this.discountFactor = this.config.getDiscountFactor();
+	}
+
+	/**
+	 * Select action
+	 * 
+	 * @param currentLocation Current location
+	 */
+	@Override
+	public String selectAction(String currentLocation) {
+		int state = this.index.getStateIndex(currentLocation);
+		this.lastState = state;
+		double r = RandomHelper.nextDoubleFromTo(0, 1);
+		if (r < 1 - this.epsilon) {
+			this.lastAction = this.table.selectGreedy(state);
+		} else {
+			int start = this.index.getRowStart(state);
+			int end = this.index.getRowEnd(state);
+			this.lastAction = RandomHelper.nextIntFromTo(start, end - 1);
+		}
+		return this.index.getActionId(this.lastAction);
+	}
+
+	/**
+	 * Update learning
+	 * 
+	 * @param newState New state
+	 * @param reward   Reward
+	 */
+	@Override
+	public void updateLearning(String newState, double reward) {
+		if (this.lastState != LearningIndex.NOT_FOUND) {
+			int state = this.index.getStateIndex(newState);
+			double maxQ = this.table.getMaxValue(state);
+			double target = reward + this.discountFactor * maxQ;
+			this.table.update(this.lastAction, target, this.learningRate);
+		}
+	}
+
+	/**
+	 * End episode. The next reward is not credited to the last action.
+	 */
+	@Override
+	public void endEpisode() {
+		this.lastState = LearningIndex.NOT_FOUND;
+		this.lastAction = LearningIndex.NOT_FOUND;
+	}
+
+	/**
+	 * Returns true if this learning mechanism contains the specified state
+	 * 
+	 * @param state State
+	 */
+	@Override
+	public boolean containsState(String state) {
+		return this.index.getStateIndex(state) != LearningIndex.NOT_FOUND;
+	}
+
+	/**
+	 * Write learned values. Nothing is written since values belong to the
+	 * shared Q-table.
+	 * 
+	 * @param data Data output
+	 */
+	@Override
+	public void writeValues(DataOutput data) {
+	}
+
+	/**
+	 * Read learned values. Nothing is read since values belong to the shared
+	 * Q-table.
+	 * 
+	 * @param data Data input
+	 */
+	@Override
+	public void readValues(DataInput data) {
+	}
+
+	/**
+	 * Apply the learned values read last. Nothing is applied since values
+	 * belong to the shared Q-table.
+	 */
+	@Override
+	public void applyValues() {
+	}
+
+	/**
+	 * Compile the learned values into a frozen policy. Learners of the same
+	 * shared Q-table get the same policy.
+	 * 
+	 * @param policies Frozen policies
+	 */
+	@Override
+	public FrozenPolicy freeze(FrozenPolicyPool policies) {
+		double[] values = new double[this.table.getSlotCount()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = this.table.get(i);
+		}
+		return policies.getStatePolicy(values);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package model.learning;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import repast.simphony.random.RandomHelper;
+
+public class SharedQTable {
+
+	/**
+	 * Shared state and action index
+	 */
+	private LearningIndex index;
+
+	/**
+	 * Q-values by slot, stored as raw double bits so that they can be
+	 * updated atomically
+	 */
+	private AtomicLongArray values;
+
+	/**
+	 * Create a new Q-table shared by several learners
+	 * 
+	 * @param index       Shared state and action index
+	 * @param initializer Initial Q-values
+	 */
+	public SharedQTable(LearningIndex index, QValueInitializer initializer) {
+		this.index = index;
+		int slots = index.getActionCount();
+		this.values = new AtomicLongArray(slots);
+		for (int i = 0; i < slots; i++) {
+			set(i, initializer.getValue(i));
+		}
+	}
+
+	/**
+	 * Get Q-value
+	 * 
+	 * @param slot Slot
+	 */
+	public double get(int slot) {
+		return Double.longBitsToDouble(this.values.get(slot));
+	}
+
+	/**
+	 * Set Q-value
+	 * 
+	 * @param slot  Slot
+	 * @param value Q-value
+	 */
+	public void set(int slot, double value) {
+		this.values.set(slot, Double.doubleToRawLongBits(value));
+	}
+
+	/**
+	 * Move a Q-value towards a target. The update is lock-free and is retried
+	 * if another learner writes the same slot concurrently.
+	 * 
+	 * @param slot         Slot
+	 * @param target       Target
+	 * @param learningRate Learning rate
+	 */
+	public void update(int slot, double target, double learningRate) {
+		long oldBits;
+		long newBits;
+		do {
+			oldBits = this.values.get(slot);
+			double q = Double.longBitsToDouble(oldBits);
+			newBits = Double.doubleToRawLongBits(
+					q + learningRate * (target - q));
+		} while (!this.values.compareAndSet(slot, oldBits, newBits));
+	}
+
+	/**
+	 * Get the maximum Q-value of a state
+	 * 
+	 * @param state State index
+	 */
+	public double getMaxValue(int state) {
+		double maxValue = Double.NEGATIVE_INFINITY;
+		int end = this.index.getRowEnd(state);
+		for (int i = this.index.getRowStart(state); i < end; i++) {
+			maxValue = Math.max(maxValue, get(i));
+		}
+		return maxValue;
+	}
+
+	/**
+	 * Select a greedy action slot of a state. Ties are broken uniformly at
+	 * random with a single draw. Concurrent writes may change the values
+	 * between both passes, in which case the last greedy slot found is used.
+	 * 
+	 * @param state State index
+	 */
+	public int selectGreedy(int state) {
+		int start = this.index.getRowStart(state);
+		int end = this.index.getRowEnd(state);
+		double maxValue = Double.NEGATIVE_INFINITY;
+		int ties = 0;
+		for (int i = start; i < end; i++) {
+			double q = get(i);
+			if (q > maxValue) {
+				maxValue = q;
+				ties = 1;
+			} else if (q == maxValue) {
+				ties++;
+			}
+		}
+		int tie = RandomHelper.nextIntFromTo(0, ties - 1);
+		int slot = start;
+		for (int i = start; i < end; i++) {
+			if (get(i) == maxValue) {
+				slot = i;
+				if (tie-- == 0) {
+					break;
+				}
+			}
+		}
+		return slot;
+	}
+
+	/**
+	 * Get slot count
+	 */
+	public int getSlotCount() {
+		return this.values.length();
+	}
+
+}
\ No newline at end of file
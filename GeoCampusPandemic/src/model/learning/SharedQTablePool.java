@@ -0,0 +1,70 @@
+package model.learning;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import simulation.SimulationConfig;
+
+public class SharedQTablePool {
+
+	/**
+	 * Cohort of the table shared by the whole population
+	 */
+	public static final String POPULATION = "population";
+
+	/**
+	 * Simulation config
+	 */
+	private SimulationConfig config;
+
+	/**
+	 * Shared state and action index
+	 */
+	private LearningIndex index;
+
+	/**
+	 * Tables by cohort
+	 */
+	private Map<String, SharedQTable> tables;
+
+	/**
+	 * Create a new pool of shared Q-tables
+	 * 
+	 * @param config Simulation config
+	 * @param index  Shared state and action index
+	 */
+	public SharedQTablePool(SimulationConfig config, LearningIndex index) {
+		this.config = config;
+		this.index = index;
+		this.tables = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Get the table of a cohort. The table is created on first use.
+	 * 
+	 * @param cohort Cohort
+	 */
+	public SharedQTable getTable(String cohort) {
+		return this.tables.computeIfAbsent(cohort, this::createTable);
+	}
+
+	/**
+	 * Get tables by cohort
+	 */
+	public Map<String, SharedQTable> getTables() {
+		return this.tables;
+	}
+
+	/**
+	 * Create a new table
+	 * 
+	 * @param cohort Cohort
+	 */
+	private SharedQTable createTable(String cohort) {
+		double minInitQValue = this.config.getMinimumInitialQValue();
+		double maxInitQValue = this.config.getMaximumInitialQValue();
+		QValueInitializer initializer = new QValueInitializer(minInitQValue,
+				maxInitQValue);
+		return new SharedQTable(this.index, initializer);
+	}
+
+}
\ No newline at end of file
@@ -1,30 +1,38 @@
 package model.learning;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import gis.GISPolygon;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import repast.simphony.random.RandomHelper;
-import repast.simphony.util.collections.Pair;
-import simulation.ParametersAdapter;
+import simulation.SimulationConfig;
 
 public abstract class TDLearningMechanism extends LearningMechanism {
 
 	/**
-	 * Q-values for state-action pairs
+	 * Q-values for state-action pairs, indexed by state and by action within
+	 * the state. Rows are created on first use.
 	 */
-	protected Map<String, List<Pair<String, Double>>> qValues;
+	protected QRow[] qValues;
 
 	/**
-	 * Last state
+	 * Q-values read but not applied yet. It is null if there are none.
 	 */
-	protected String lastState;
+	protected QRow[] pendingValues;
 
 	/**
-	 * Last action
+	 * Initial Q-values
 	 */
-	protected String lastAction;
+	protected QValueInitializer initializer;
+
+	/**
+	 * Last state index
+	 */
+	protected int lastState;
+
+	/**
+	 * Last action slot
+	 */
+	protected int lastAction;
 
 	/**
 	 * Epsilon parameter for epsilon-greedy action selection
@@ -44,14 +52,11 @@ public abstract class TDLearningMechanism extends LearningMechanism {
 	/**
 	 * Create a new TD-learning mechanism
 	 * 
-	 * @param teachingFacilities Teaching facilities
-	 * @param sharedAreas        Shared areas
-	 * @param eatingPlaces       Eating places
-	 */
-	public TDLearningMechanism(Map<String, GISPolygon> teachingFacilities,
-			Map<String, GISPolygon> sharedAreas,
-			Map<String, GISPolygon> eatingPlaces) {
-		super(teachingFacilities, sharedAreas, eatingPlaces);
+	 * @param config Simulation config
+	 * @param index  Shared state and action index
+	 */
+	public TDLearningMechanism(SimulationConfig config, LearningIndex index) {
+		super(config, index);
 	}
 
 	/**
@@ -59,52 +64,13 @@ public abstract class TDLearningMechanism extends LearningMechanism {
 	 */
 	@Override
 	public void init() {
-		double minInitQValue = ParametersAdapter.getMinimumInitialQValue();
-		double maxInitQValue = ParametersAdapter.getMaximumInitialQValue();
-		this.qValues = new HashMap<>();
-		// Teaching facilities to shared areas and eating places
-		for (String teachingFacility : this.teachingFacilities.keySet()) {
-			ArrayList<Pair<String, Double>> destinations = new ArrayList<>();
-			for (String sharedArea : this.sharedAreas.keySet()) {
-				double q = RandomHelper.nextDoubleFromTo(minInitQValue,
-						maxInitQValue);
-				destinations.add(new Pair<>(sharedArea, q));
-			}
-			for (String eatingPlace : this.eatingPlaces.keySet()) {
-				double q = RandomHelper.nextDoubleFromTo(minInitQValue,
-						maxInitQValue);
-				destinations.add(new Pair<>(eatingPlace, q));
-			}
-			this.qValues.put(teachingFacility, destinations);
-		}
-		// Shared areas to eating places and shared areas
-		for (String sharedArea : this.sharedAreas.keySet()) {
-			ArrayList<Pair<String, Double>> destinations = new ArrayList<>();
-			for (String eatingPlace : this.eatingPlaces.keySet()) {
-				double q = RandomHelper.nextDoubleFromTo(minInitQValue,
-						maxInitQValue);
-				destinations.add(new Pair<>(eatingPlace, q));
-			}
-			for (String nextSharedArea : this.sharedAreas.keySet()) {
-				if (sharedArea.equals(nextSharedArea)) {
-					continue;
-				}
-				double q = RandomHelper.nextDoubleFromTo(minInitQValue,
-						maxInitQValue);
-				destinations.add(new Pair<>(nextSharedArea, q));
-			}
-			this.qValues.put(sharedArea, destinations);
-		}
-		// Eating places to shared areas
-		for (String eatingPlace : this.eatingPlaces.keySet()) {
-			ArrayList<Pair<String, Double>> destinations = new ArrayList<>();
-			for (String sharedArea : this.sharedAreas.keySet()) {
-				double q = RandomHelper.nextDoubleFromTo(minInitQValue,
-						maxInitQValue);
-				destinations.add(new Pair<>(sharedArea, q));
-			}
-			this.qValues.put(eatingPlace, destinations);
-		}
+		double minInitQValue = this.config.getMinimumInitialQValue();
+		double maxInitQValue = this.config.getMaximumInitialQValue();
+		this.initializer = new QValueInitializer(minInitQValue,
+				maxInitQValue);
+		this.qValues = new QRow[this.index.getStateCount()];
+		this.lastState = LearningIndex.NOT_FOUND;
+		this.lastAction = LearningIndex.NOT_FOUND;
 	}
 
 	/**
@@ -112,9 +78,9 @@ public abstract class TDLearningMechanism extends LearningMechanism {
 	 */
 	@Override
 	public void fixParameters() {
-		this.epsilon = ParametersAdapter.getEpsilon();
-		this.learningRate = ParametersAdapter.getLearningRate();
-		this.discountFactor = ParametersAdapter.getDiscountFactor();
+		this.epsilon = this.config.getEpsilon();
+		this.learningRate = this.config.getLearningRate();
+		this.discountFactor = this.config.getDiscountFactor();
 	}
 
 	/**
@@ -124,33 +90,27 @@ public abstract class TDLearningMechanism extends LearningMechanism {
 	 */
 	@Override
 	public String selectAction(String currentLocation) {
-		this.lastState = currentLocation;
-		List<Pair<String, Double>> destinations = this.qValues
-				.get(currentLocation);
-		Pair<String, Double> selectedDestination = null;
+		int state = this.index.getStateIndex(currentLocation);
+		this.lastState = state;
+		int start = this.index.getRowStart(state);
+		int end = this.index.getRowEnd(state);
 		double r = RandomHelper.nextDoubleFromTo(0, 1);
-		int index = -1;
 		if (r < 1 - this.epsilon) {
-			double topValue = Double.NEGATIVE_INFINITY;
-			List<Pair<String, Double>> ties = new ArrayList<>();
-			for (Pair<String, Double> destination : destinations) {
-				double qValue = destination.getSecond();
-				if (qValue > topValue) {
-					topValue = qValue;
-					ties.clear();
-					ties.add(destination);
-				} else if (qValue == topValue) {
-					ties.add(destination);
-				}
-			}
-			index = RandomHelper.nextIntFromTo(0, ties.size() - 1);
-			selectedDestination = ties.get(index);
+			this.lastAction = start + selectGreedy(state);
 		} else {
-			index = RandomHelper.nextIntFromTo(0, destinations.size() - 1);
-			selectedDestination = destinations.get(index);
+			this.lastAction = start
+					+ RandomHelper.nextIntFromTo(0, end - start - 1);
 		}
-		this.lastAction = selectedDestination.getFirst();
-		return this.lastAction;
+		return this.index.getActionId(this.lastAction);
+	}
+
+	/**
+	 * End episode. The next reward is not credited to the last action.
+	 */
+	@Override
+	public void endEpisode() {
+		this.lastState = LearningIndex.NOT_FOUND;
+		this.lastAction = LearningIndex.NOT_FOUND;
 	}
 
 	/**
@@ -160,7 +120,144 @@ public abstract class TDLearningMechanism extends LearningMechanism {
 	 */
 	@Override
 	public boolean containsState(String state) {
-		return this.qValues.containsKey(state);
+		return this.index.getStateIndex(state) != LearningIndex.NOT_FOUND;
+	}
+
+	/**
+	 * Write learned values. Only rows that have been created are written.
+	 * 
+	 * @param data Data output
+	 */
+	@Override
+	public void writeValues(DataOutput data) throws IOException {
+		int rowCount = 0;
+		for (QRow row : this.qValues) {
+			if (row != null) {
+				rowCount++;
+			}
+		}
+		data.writeInt(rowCount);
+		for (int state = 0; state < this.qValues.length; state++) {
+			QRow row = this.qValues[state];
+			if (row != null) {
+				data.writeInt(state);
+				for (int i = 0; i < row.size(); i++) {
+					data.writeDouble(row.get(i));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Read learned values. They are kept pending and the current ones are
+	 * left untouched until the pending values are applied.
+	 * 
+	 * @param data Data input
+	 */
+	@Override
+	public void readValues(DataInput data) throws IOException {
+		this.pendingValues = null;
+		int stateCount = this.index.getStateCount();
+		QRow[] values = new QRow[stateCount];
+		int rowCount = data.readInt();
+		for (int i = 0; i < rowCount; i++) {
+			int state = data.readInt();
+			if (state < 0 || state >= stateCount) {
+				throw new IOException("Invalid state index: " + state);
+			}
+			int start = this.index.getRowStart(state);
+			double[] row = new double[this.index.getRowEnd(state) - start];
+			for (int j = 0; j < row.length; j++) {
+				row[j] = data.readDouble();
+			}
+			values[state] = new QRow(row);
+		}
+		this.pendingValues = values;
+	}
+
+	/**
+	 * Apply the learned values read last. They replace the current ones.
+	 */
+	@Override
+	public void applyValues() {
+		if (this.pendingValues == null) {
+			throw new IllegalStateException("No learned values were read");
+		}
+		this.qValues = this.pendingValues;
+		this.pendingValues = null;
+	}
+
+	/**
+	 * Compile the learned values into a frozen policy
+	 * 
+	 * @param policies Frozen policies
+	 */
+	@Override
+	public FrozenPolicy freeze(FrozenPolicyPool policies) {
+		double[] values = new double[this.index.getActionCount()];
+		for (int state = 0; state < this.qValues.length; state++) {
+			int start = this.index.getRowStart(state);
+			QRow row = this.qValues[state];
+			for (int i = start; i < this.index.getRowEnd(state); i++) {
+				values[i] = row == null ? this.initializer.getValue(i)
+						: row.get(i - start);
+			}
+		}
+		return policies.getStatePolicy(values);
+	}
+
+	/**
+	 * Get the Q-values of a state. The row is created if needed.
+	 * 
+	 * @param state State index
+	 */
+	protected QRow getRow(int state) {
+		QRow row = this.qValues[state];
+		if (row == null) {
+			int start = this.index.getRowStart(state);
+			double[] values = new double[this.index.getRowEnd(state) - start];
+			this.initializer.fill(values, start);
+			row = new QRow(values);
+			this.qValues[state] = row;
+		}
+		return row;
+	}
+
+	/**
+	 * Is the row of a state pending? Pending rows hold the constant initial
+	 * Q-value and are not created until they are written.
+	 * 
+	 * @param state State index
+	 */
+	protected boolean isPending(int state) {
+		return this.qValues[state] == null && this.initializer.isConstant();
+	}
+
+	/**
+	 * Select a greedy action of a state. It returns the action position
+	 * within the state.
+	 * 
+	 * @param state State index
+	 */
+	protected int selectGreedy(int state) {
+		if (isPending(state)) {
+			int actions = this.index.getRowEnd(state)
+					- this.index.getRowStart(state);
+			return RandomHelper.nextIntFromTo(0, actions - 1);
+		}
+		return getRow(state).selectGreedy();
+	}
+
+	/**
+	 * Get the maximum Q-value of a state
+	 * 
+	 * @param state State index
+	 */
+	protected double getMaxQValue(int state) {
+		if (isPending(state)) {
+			return this.initializer.getValue(this.index.getRowStart(state));
+		}
+		return getRow(state).getMaxValue();
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package model.util;
+
+import repast.simphony.random.RandomHelper;
+
+public class AliasTable {
+
+	/**
+	 * Probability of keeping every column
+	 */
+	private double[] probabilities;
+
+	/**
+	 * Alias of every column
+	 */
+	private int[] aliases;
+
+	/**
+	 * Column count
+	 */
+	private int size;
+
+	/**
+	 * Create a new alias table (Walker's method, Vose's construction). Every
+	 * index is drawn with probability proportional to its weight.
+	 * 
+	 * @param weights Non-negative weights. At least one must be positive.
+	 */
+	public AliasTable(double[] weights) {
+		this.size = weights.length;
+		this.probabilities = new double[this.size];
+		this.aliases = new int[this.size];
+		double total = 0;
+		for (double weight : weights) {
+			total += weight;
+		}
+		double[] scaled = new double[this.size];
+		int[] small = new int[this.size];
+		int[] large = new int[this.size];
+		int smallCount = 0;
+		int largeCount = 0;
+		for (int i = 0; i < this.size; i++) {
+			scaled[i] = weights[i] * this.size / total;
+			if (scaled[i] < 1) {
+				small[smallCount++] = i;
+			} else {
+				large[largeCount++] = i;
+			}
+		}
+		while (smallCount > 0 && largeCount > 0) {
+			int less = small[--smallCount];
+			int more = large[--largeCount];
+			this.probabilities[less] = scaled[less];
+			this.aliases[less] = more;
+			scaled[more] = scaled[more] + scaled[less] - 1;
+			if (scaled[more] < 1) {
+				small[smallCount++] = more;
+			} else {
+				large[largeCount++] = more;
+			}
+		}
+		// Leftovers are due to rounding errors and keep their column
+		while (largeCount > 0) {
+			int more = large[--largeCount];
+			this.probabilities[more] = 1;
+			this.aliases[more] = more;
+		}
+		while (smallCount > 0) {
+			int less = small[--smallCount];
+			this.probabilities[less] = 1;
+			this.aliases[less] = less;
+		}
+	}
+
+	/**
+	 * Draw a random index. It takes a single uniform draw: its integer part
+	 * selects the column and its fractional part decides between the column
+	 * and its alias.
+	 */
+	public int sample() {
+		double u = RandomHelper.nextDoubleFromTo(0, this.size);
+		int column = Math.min((int) u, this.size - 1);
+		double fraction = u - column;
+		return fraction < this.probabilities[column] ? column
+				: this.aliases[column];
+	}
+
+	/**
+	 * Get size
+	 */
+	public int getSize() {
+		return this.size;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,186 @@
+package model.util;
+
+import cern.jet.random.Binomial;
+import cern.jet.random.Gamma;
+import cern.jet.random.Normal;
+import cern.jet.random.engine.RandomEngine;
+import repast.simphony.random.RandomHelper;
+import util.TickConverter;
+
+public class DistributionRegistry {
+
+	/**
+	 * Step of the infectiousness table (unit: ticks)
+	 */
+	public static final double INFECTIOUSNESS_STEP = TickConverter
+			.minutesToTicks(1);
+
+	/**
+	 * Span of the infectiousness table after the infection minimum (unit:
+	 * days). The infectiousness density is negligible afterwards.
+	 */
+	public static final double INFECTIOUSNESS_SPAN = 30;
+
+	/**
+	 * Infectiousness by incubation difference. Entry i holds the density at
+	 * i steps after the infection minimum.
+	 */
+	private static final double[] INFECTIOUSNESS;
+
+	static {
+		INFECTIOUSNESS = createInfectiousnessTable();
+	}
+
+	/**
+	 * Registry of the current random generator
+	 */
+	private static DistributionRegistry instance;
+
+	/**
+	 * Random generator the distributions draw from
+	 */
+	private RandomEngine generator;
+
+	/**
+	 * Lunch duration distribution (unit: hours)
+	 */
+	private Normal lunchDuration;
+
+	/**
+	 * Arrival shift distribution (unit: hours)
+	 */
+	private Normal arrivalShift;
+
+	/**
+	 * Logarithm of the incubation period distribution
+	 */
+	private Normal logIncubationPeriod;
+
+	/**
+	 * Time to discharge distribution (unit: days)
+	 */
+	private Gamma timeToDischarge;
+
+	/**
+	 * Groups to enroll distribution (unit: groups)
+	 */
+	private Binomial groupsToEnroll;
+
+	/**
+	 * Create a new distribution registry
+	 * 
+	 * @param generator Random generator
+	 */
+	public DistributionRegistry(RandomEngine generator) {
+		this.generator = generator;
+		this.lunchDuration = new Normal(Randomizer.MEAN_LUNCH_DURATION,
+				Randomizer.STD_LUNCH_DURATION, generator);
+		this.arrivalShift = new Normal(Randomizer.MEAN_ARRIVAL_SHIFT,
+				Randomizer.STD_ARRIVAL_SHIFT, generator);
+		double mean = Randomizer.MEAN_INCUBATION_PERIOD;
+		double std = Randomizer.STD_INCUBATION_PERIOD;
+		double t = Math.pow(mean, 2) + Math.pow(std, 2);
+		double mu = Math.log(Math.pow(mean, 2) / Math.sqrt(t));
+		double sigma = Math.log(t / Math.pow(mean, 2));
+		this.logIncubationPeriod = new Normal(mu, sigma, generator);
+		this.timeToDischarge = new Gamma(Randomizer.DISCHARGE_ALPHA,
+				1.0 / Randomizer.DISCHARGE_BETA, generator);
+		this.groupsToEnroll = new Binomial(Randomizer.TRIALS_GROUPS_TO_ENROLL,
+				Randomizer.SUCCESS_PROBABILITY_GROUPS_TO_ENROLL, generator);
+	}
+
+	/**
+	 * Get the registry of the current random generator. The registry is
+	 * created again whenever the generator changes, that is, whenever the
+	 * random seed is set.
+	 */
+	public static DistributionRegistry getInstance() {
+		RandomEngine generator = RandomHelper.getGenerator();
+		if (instance == null || !instance.isDrawingFrom(generator)) {
+			instance = new DistributionRegistry(generator);
+		}
+		return instance;
+	}
+
+	/**
+	 * Get infectiousness. It interpolates the infectiousness table linearly.
+	 * 
+	 * @param incubationDiff Incubation difference (unit: ticks)
+	 */
+	public static double getInfectiousness(double incubationDiff) {
+		double ticks = incubationDiff
+				- TickConverter.daysToTicks(Randomizer.INFECTION_MIN);
+		if (ticks < 0) {
+			return 0;
+		}
+		double position = ticks / INFECTIOUSNESS_STEP;
+		int index = (int) position;
+		if (index >= INFECTIOUSNESS.length - 1) {
+			return 0;
+		}
+		double fraction = position - index;
+		return INFECTIOUSNESS[index] * (1 - fraction)
+				+ INFECTIOUSNESS[index + 1] * fraction;
+	}
+
+	/**
+	 * Create infectiousness table
+	 */
+	private static double[] createInfectiousnessTable() {
+		Gamma gamma = new Gamma(Randomizer.INFECTION_ALPHA,
+				1.0 / Randomizer.INFECTION_BETA, null);
+		double span = TickConverter.daysToTicks(INFECTIOUSNESS_SPAN);
+		int size = (int) Math.ceil(span / INFECTIOUSNESS_STEP) + 1;
+		double[] table = new double[size];
+		for (int i = 0; i < size; i++) {
+			double days = TickConverter.ticksToDays(i * INFECTIOUSNESS_STEP);
+			table[i] = gamma.pdf(days);
+		}
+		return table;
+	}
+
+	/**
+	 * Is the registry drawing from a given random generator?
+	 * 
+	 * @param generator Random generator
+	 */
+	public boolean isDrawingFrom(RandomEngine generator) {
+		return this.generator == generator;
+	}
+
+	/**
+	 * Get random lunch duration (unit: hours)
+	 */
+	public double nextLunchDuration() {
+		return this.lunchDuration.nextDouble();
+	}
+
+	/**
+	 * Get random arrival shift (unit: hours)
+	 */
+	public double nextArrivalShift() {
+		return this.arrivalShift.nextDouble();
+	}
+
+	/**
+	 * Get random incubation period (unit: days)
+	 */
+	public double nextIncubationPeriod() {
+		return Math.exp(this.logIncubationPeriod.nextDouble());
+	}
+
+	/**
+	 * Get random time to discharge (unit: days)
+	 */
+	public double nextTimeToDischarge() {
+		return this.timeToDischarge.nextDouble();
+	}
+
+	/**
+	 * Get random number of groups to enroll to
+	 */
+	public int nextGroupsToEnroll() {
+		return this.groupsToEnroll.nextInt();
+	}
+
+}
\ No newline at end of file
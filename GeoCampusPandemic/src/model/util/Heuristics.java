@@ -1,16 +1,17 @@
 package model.util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import org.jgrapht.Graph;
 import org.jgrapht.GraphPath;
 import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.SingleSourcePaths;
 import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
 import org.jgrapht.graph.DefaultWeightedEdge;
-import config.SourceFeatures;
 import model.agents.AcademicActivity;
 import model.agents.Group;
 import model.agents.Schedule;
@@ -106,29 +107,153 @@ public final class Heuristics {
 		return lunch;
 	}
 
+	/**
+	 * Find shortest paths between all points. Automatic selection runs
+	 * Dijkstra's algorithm in parallel, which picks the same routes as the
+	 * sequential one. Floyd-Warshall's algorithm finds the same distances,
+	 * but it can pick a different route among routes of equal length.
+	 * 
+	 * @param routes    Graph of routes
+	 * @param algorithm Routing algorithm
+	 */
+	public static RouteTable findShortestPaths(
+			Graph<String, DefaultWeightedEdge> routes,
+			RoutingAlgorithm algorithm) {
+		switch (algorithm) {
+		case DIJKSTRA:
+			return findShortestPathsDijkstra(routes);
+		case PARALLEL_DIJKSTRA:
+			return findShortestPathsParallelDijkstra(routes);
+		case FLOYD_WARSHALL:
+			return findShortestPathsFloydWarshall(routes);
+		default:
+			return findShortestPathsParallelDijkstra(routes);
+		}
+	}
+
 	/**
 	 * Find shortest paths between all points using Dijkstra's algorithm
 	 * 
 	 * @param routes Graph of routes
 	 */
-	public static Map<String, GraphPath<String, DefaultWeightedEdge>> findShortestPaths(
+	public static RouteTable findShortestPathsDijkstra(
+			Graph<String, DefaultWeightedEdge> routes) {
+		List<String> vertexes = new ArrayList<>(routes.vertexSet());
+		RouteTable routeTable = new RouteTable(vertexes);
+		for (int i = 0; i < vertexes.size(); i++) {
+			findSingleSourcePaths(routes, routeTable, i);
+		}
+		return routeTable;
+	}
+
+	/**
+	 * Find shortest paths between all points running Dijkstra's algorithm
+	 * from every source in parallel
+	 * 
+	 * @param routes Graph of routes
+	 */
+	public static RouteTable findShortestPathsParallelDijkstra(
+			Graph<String, DefaultWeightedEdge> routes) {
+		List<String> vertexes = new ArrayList<>(routes.vertexSet());
+		RouteTable routeTable = new RouteTable(vertexes);
+		ForkJoinPool pool = new ForkJoinPool();
+		try {
+			List<ForkJoinTask<?>> tasks = new ArrayList<>();
+			for (int i = 0; i < vertexes.size(); i++) {
+				int source = i;
+				tasks.add(pool.submit(
+						() -> findSingleSourcePaths(routes, routeTable, source)));
+			}
+			for (ForkJoinTask<?> task : tasks) {
+				task.join();
+			}
+		} finally {
+			pool.shutdown();
+		}
+		return routeTable;
+	}
+
+	/**
+	 * Find shortest paths between all points using Floyd-Warshall's algorithm
+	 * on a dense distance matrix
+	 * 
+	 * @param routes Graph of routes
+	 */
+	public static RouteTable findShortestPathsFloydWarshall(
 			Graph<String, DefaultWeightedEdge> routes) {
-		HashMap<String, GraphPath<String, DefaultWeightedEdge>> paths = new HashMap<>();
+		List<String> vertexes = new ArrayList<>(routes.vertexSet());
+		RouteTable routeTable = new RouteTable(vertexes);
+		int n = vertexes.size();
+		double[] weights = new double[n * n];
+		double[] distances = new double[n * n];
+		int[] nextHops = new int[n * n];
+		Arrays.fill(weights, Double.POSITIVE_INFINITY);
+		Arrays.fill(nextHops, RouteTable.NO_ROUTE);
+		for (DefaultWeightedEdge edge : routes.edgeSet()) {
+			int i = routeTable.getVertexIndex(routes.getEdgeSource(edge));
+			int j = routeTable.getVertexIndex(routes.getEdgeTarget(edge));
+			double weight = routes.getEdgeWeight(edge);
+			if (i != j && weight < weights[i * n + j]) {
+				weights[i * n + j] = weight;
+				nextHops[i * n + j] = j;
+			}
+		}
+		System.arraycopy(weights, 0, distances, 0, n * n);
+		for (int i = 0; i < n; i++) {
+			distances[i * n + i] = 0;
+		}
+		for (int k = 0; k < n; k++) {
+			for (int i = 0; i < n; i++) {
+				double ik = distances[i * n + k];
+				if (ik == Double.POSITIVE_INFINITY) {
+					continue;
+				}
+				for (int j = 0; j < n; j++) {
+					double distance = ik + distances[k * n + j];
+					if (distance < distances[i * n + j]) {
+						distances[i * n + j] = distance;
+						nextHops[i * n + j] = nextHops[i * n + k];
+					}
+				}
+			}
+		}
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				int nextHop = nextHops[i * n + j];
+				if (i != j && nextHop != RouteTable.NO_ROUTE) {
+					routeTable.setRoute(i, j, nextHop, weights[i * n + nextHop],
+							distances[i * n + j]);
+				}
+			}
+		}
+		return routeTable;
+	}
+
+	/**
+	 * Find shortest paths from a single source using Dijkstra's algorithm
+	 * 
+	 * @param routes     Graph of routes
+	 * @param routeTable Route table to fill
+	 * @param source     Source index
+	 */
+	private static void findSingleSourcePaths(
+			Graph<String, DefaultWeightedEdge> routes, RouteTable routeTable,
+			int source) {
 		DijkstraShortestPath<String, DefaultWeightedEdge> dijkstraAlg = new DijkstraShortestPath<>(
 				routes);
-		for (String source : routes.vertexSet()) {
-			SingleSourcePaths<String, DefaultWeightedEdge> iPaths = dijkstraAlg
-					.getPaths(source);
-			for (String sink : routes.vertexSet()) {
-				String id = source + SourceFeatures.ENTITY_SEPARATOR + sink;
-				if (!paths.containsKey(id)) {
-					GraphPath<String, DefaultWeightedEdge> path = iPaths
-							.getPath(sink);
-					paths.put(id, path);
-				}
+		SingleSourcePaths<String, DefaultWeightedEdge> iPaths = dijkstraAlg
+				.getPaths(routeTable.getVertexId(source));
+		for (int j = 0; j < routeTable.getVertexCount(); j++) {
+			GraphPath<String, DefaultWeightedEdge> path = iPaths
+					.getPath(routeTable.getVertexId(j));
+			if (path == null || path.getLength() == 0) {
+				continue;
 			}
+			String nextHop = path.getVertexList().get(1);
+			DefaultWeightedEdge edge = path.getEdgeList().get(0);
+			routeTable.setRoute(source, j, routeTable.getVertexIndex(nextHop),
+					routes.getEdgeWeight(edge), path.getWeight());
 		}
-		return paths;
 	}
 
 }
\ No newline at end of file
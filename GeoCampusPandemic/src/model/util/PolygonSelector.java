@@ -0,0 +1,142 @@
+package model.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import gis.GISPolygon;
+import repast.simphony.random.RandomHelper;
+
+public class PolygonSelector {
+
+	/**
+	 * Candidate polygons
+	 */
+	private GISPolygon[] candidates;
+
+	/**
+	 * Active candidates
+	 */
+	private GISPolygon[] activePolygons;
+
+	/**
+	 * Alias table over the weights of active candidates. It is null if no
+	 * active candidate has a positive weight.
+	 */
+	private AliasTable weightTable;
+
+	/**
+	 * Alias table over the work weights of active candidates. It is null if
+	 * no active candidate has a positive work weight.
+	 */
+	private AliasTable workWeightTable;
+
+	/**
+	 * Stale flag. Set when a candidate changes its active flag or weights.
+	 */
+	private boolean stale;
+
+	/**
+	 * Create a new polygon selector. The selector listens to changes of the
+	 * candidates and rebuilds its tables on the next draw after a change.
+	 * 
+	 * @param candidates Candidate polygons
+	 */
+	public PolygonSelector(Collection<GISPolygon> candidates) {
+		this.candidates = candidates.toArray(new GISPolygon[0]);
+		for (GISPolygon candidate : this.candidates) {
+			candidate.addChangeListener(this::invalidate);
+		}
+		this.stale = true;
+	}
+
+	/**
+	 * Get random active polygon. It returns null if there are no active
+	 * candidates.
+	 */
+	public GISPolygon getRandomPolygon() {
+		refresh();
+		if (this.activePolygons.length == 0) {
+			return null;
+		}
+		int index = RandomHelper.nextIntFromTo(0,
+				this.activePolygons.length - 1);
+		return this.activePolygons[index];
+	}
+
+	/**
+	 * Get random active polygon based on weights. It returns null if no active
+	 * candidate has a positive weight.
+	 */
+	public GISPolygon getRandomPolygonWeightBased() {
+		refresh();
+		if (this.weightTable == null) {
+			return null;
+		}
+		return this.activePolygons[this.weightTable.sample()];
+	}
+
+	/**
+	 * Get random active polygon based on work weights. It returns null if no
+	 * active candidate has a positive work weight.
+	 */
+	public GISPolygon getRandomPolygonWorkWeightBased() {
+		refresh();
+		if (this.workWeightTable == null) {
+			return null;
+		}
+		return this.activePolygons[this.workWeightTable.sample()];
+	}
+
+	/**
+	 * Invalidate the candidate sets
+	 */
+	public void invalidate() {
+		this.stale = true;
+	}
+
+	/**
+	 * Rebuild the candidate sets if they are stale
+	 */
+	private void refresh() {
+		if (!this.stale) {
+			return;
+		}
+		List<GISPolygon> activePolygons = new ArrayList<>();
+		for (GISPolygon candidate : this.candidates) {
+			if (candidate.isActive()) {
+				activePolygons.add(candidate);
+			}
+		}
+		this.activePolygons = activePolygons.toArray(new GISPolygon[0]);
+		double[] weights = new double[this.activePolygons.length];
+		double[] workWeights = new double[this.activePolygons.length];
+		for (int i = 0; i < this.activePolygons.length; i++) {
+			weights[i] = this.activePolygons[i].getWeight();
+			workWeights[i] = this.activePolygons[i].getWorkWeight();
+		}
+		this.weightTable = createAliasTable(weights);
+		this.workWeightTable = createAliasTable(workWeights);
+		this.stale = false;
+	}
+
+	/**
+	 * Create alias table. It returns null if no weight is positive.
+	 * 
+	 * @param weights Weights
+	 */
+	private static AliasTable createAliasTable(double[] weights) {
+		double total = 0;
+		for (double weight : weights) {
+			total += Math.max(weight, 0);
+		}
+		if (total <= 0) {
+			return null;
+		}
+		double[] clampedWeights = new double[weights.length];
+		for (int i = 0; i < weights.length; i++) {
+			clampedWeights[i] = Math.max(weights[i], 0);
+		}
+		return new AliasTable(clampedWeights);
+	}
+
+}
\ No newline at end of file
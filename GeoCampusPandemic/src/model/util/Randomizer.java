@@ -1,15 +1,8 @@
 package model.util;
 
-import java.util.ArrayList;
-import java.util.Map;
-import cern.jet.random.Binomial;
-import cern.jet.random.Gamma;
-import cern.jet.random.Normal;
 import gis.GISPolygon;
 import model.disease.PatientType;
 import repast.simphony.random.RandomHelper;
-import simulation.ParametersAdapter;
-import util.TickConverter;
 
 public final class Randomizer {
 
@@ -157,25 +150,22 @@ public final class Randomizer {
 	 * Get random lunch duration
 	 */
 	public static double getRandomLunchDuration() {
-		Normal normal = RandomHelper.createNormal(MEAN_LUNCH_DURATION,
-				STD_LUNCH_DURATION);
-		return normal.nextDouble();
+		return DistributionRegistry.getInstance().nextLunchDuration();
 	}
 
 	/**
 	 * Get random arrival shift
 	 */
 	public static double getRandomArrivalShift() {
-		Normal normal = RandomHelper.createNormal(MEAN_ARRIVAL_SHIFT,
-				STD_ARRIVAL_SHIFT);
-		return normal.nextDouble();
+		return DistributionRegistry.getInstance().nextArrivalShift();
 	}
 
 	/**
 	 * Get random vehicle usage
+	 * 
+	 * @param vehicleUsageRatio Vehicle usage ratio
 	 */
-	public static boolean getRandomVehicleUsage() {
-		double vehicleUsageRatio = ParametersAdapter.getVehicleUsageRatio();
+	public static boolean getRandomVehicleUsage(double vehicleUsageRatio) {
 		double r = RandomHelper.nextDoubleFromTo(0, 1);
 		return r < vehicleUsageRatio;
 	}
@@ -192,9 +182,7 @@ public final class Randomizer {
 	 * Get random number of groups to enroll to
 	 */
 	public static int getRandomGroupsToEnrollTo() {
-		Binomial binomial = RandomHelper.createBinomial(TRIALS_GROUPS_TO_ENROLL,
-				SUCCESS_PROBABILITY_GROUPS_TO_ENROLL);
-		return binomial.nextInt();
+		return DistributionRegistry.getInstance().nextGroupsToEnroll();
 	}
 
 	/**
@@ -233,14 +221,7 @@ public final class Randomizer {
 	 * Get random incubation period (unit: days)
 	 */
 	public static double getRandomIncubationPeriod() {
-		double t = Math.pow(MEAN_INCUBATION_PERIOD, 2)
-				+ Math.pow(STD_INCUBATION_PERIOD, 2);
-		double mu = Math
-				.log(Math.pow(MEAN_INCUBATION_PERIOD, 2) / Math.sqrt(t));
-		double sigma = Math.log(t / Math.pow(MEAN_INCUBATION_PERIOD, 2));
-		Normal normal = RandomHelper.createNormal(mu, sigma);
-		double y = normal.nextDouble();
-		return Math.exp(y);
+		return DistributionRegistry.getInstance().nextIncubationPeriod();
 	}
 
 	/**
@@ -279,17 +260,11 @@ public final class Randomizer {
 	/**
 	 * Is the citizen getting exposed? Reference: <pending>
 	 * 
-	 * @param incubationDiff Incubation difference
+	 * @param incubationDiff Incubation difference (unit: ticks)
 	 */
 	public static boolean isGettingExposed(double incubationDiff) {
 		double r = RandomHelper.nextDoubleFromTo(0, 1);
-		Gamma gamma = RandomHelper.createGamma(INFECTION_ALPHA,
-				1.0 / INFECTION_BETA);
-		double days = TickConverter.ticksToDays(incubationDiff);
-		if (days < INFECTION_MIN) {
-			return false;
-		}
-		double p = gamma.pdf(days - INFECTION_MIN);
+		double p = DistributionRegistry.getInfectiousness(incubationDiff);
 		return r < p;
 	}
 
@@ -297,71 +272,36 @@ public final class Randomizer {
 	 * Get random time to discharge (unit: days)
 	 */
 	public static double getRandomTimeToDischarge() {
-		Gamma gamma = RandomHelper.createGamma(DISCHARGE_ALPHA,
-				1.0 / DISCHARGE_BETA);
-		return gamma.nextDouble();
+		return DistributionRegistry.getInstance().nextTimeToDischarge();
 	}
 
 	/**
 	 * Get random geo-spatial polygon
 	 * 
-	 * @param polygons Map of polygons
-	 */
-	public static GISPolygon getRandomPolygon(
-			Map<String, GISPolygon> polygons) {
-		ArrayList<GISPolygon> polyList = new ArrayList<>();
-		for (GISPolygon polygon : polygons.values()) {
-			if (!polygon.isActive()) {
-				continue;
-			}
-			polyList.add(polygon);
-		}
-		int index = RandomHelper.nextIntFromTo(0, polyList.size() - 1);
-		return polyList.get(index);
+	 * @param selector Polygon selector
+	 */
+	public static GISPolygon getRandomPolygon(PolygonSelector selector) {
+		return selector.getRandomPolygon();
 	}
 
 	/**
 	 * Get random geo-spatial polygon based on weights
 	 * 
-	 * @param polygons Map of polygons
+	 * @param selector Polygon selector
 	 */
 	public static GISPolygon getRandomPolygonWeightBased(
-			Map<String, GISPolygon> polygons) {
-		double r = RandomHelper.nextDoubleFromTo(0, 1);
-		double cummulativeProbability = 0;
-		for (GISPolygon polygon : polygons.values()) {
-			if (!polygon.isActive()) {
-				continue;
-			}
-			double weight = polygon.getWeight();
-			cummulativeProbability += weight;
-			if (r <= cummulativeProbability) {
-				return polygon;
-			}
-		}
-		return null;
+			PolygonSelector selector) {
+		return selector.getRandomPolygonWeightBased();
 	}
 
 	/**
 	 * Get random geo-spatial polygon based on work weights
 	 * 
-	 * @param polygons Map of polygons
+	 * @param selector Polygon selector
 	 */
 	public static GISPolygon getRandomPolygonWorkWeightBased(
-			Map<String, GISPolygon> polygons) {
-		double r = RandomHelper.nextDoubleFromTo(0, 1);
-		double cummulativeProbability = 0;
-		for (GISPolygon polygon : polygons.values()) {
-			if (!polygon.isActive()) {
-				continue;
-			}
-			double weight = polygon.getWorkWeight();
-			cummulativeProbability += weight;
-			if (r <= cummulativeProbability) {
-				return polygon;
-			}
-		}
-		return null;
+			PolygonSelector selector) {
+		return selector.getRandomPolygonWorkWeightBased();
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,166 @@
+package model.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class RouteTable {
+
+	/**
+	 * No route marker
+	 */
+	public static final int NO_ROUTE = -1;
+
+	/**
+	 * Vertex ids by index
+	 */
+	private String[] vertexIds;
+
+	/**
+	 * Vertex indexes by id
+	 */
+	private Map<String, Integer> vertexIndexes;
+
+	/**
+	 * Vertex count
+	 */
+	private int vertexCount;
+
+	/**
+	 * Next hop from every source towards every sink
+	 */
+	private int[] nextHops;
+
+	/**
+	 * Distance of the next hop from every source towards every sink (unit:
+	 * meters)
+	 */
+	private double[] hopDistances;
+
+	/**
+	 * Shortest distance from every source to every sink (unit: meters)
+	 */
+	private double[] distances;
+
+	/**
+	 * Create a new route table. Every pair of vertexes starts without a route.
+	 * 
+	 * @param vertexIds Vertex ids. Their position determines their index.
+	 */
+	public RouteTable(List<String> vertexIds) {
+		this.vertexCount = vertexIds.size();
+		this.vertexIds = vertexIds.toArray(new String[this.vertexCount]);
+		this.vertexIndexes = new HashMap<>();
+		for (int i = 0; i < this.vertexCount; i++) {
+			this.vertexIndexes.put(this.vertexIds[i], i);
+		}
+		int size = this.vertexCount * this.vertexCount;
+		this.nextHops = new int[size];
+		this.hopDistances = new double[size];
+		this.distances = new double[size];
+		Arrays.fill(this.nextHops, NO_ROUTE);
+		Arrays.fill(this.distances, Double.POSITIVE_INFINITY);
+		for (int i = 0; i < this.vertexCount; i++) {
+			this.distances[i * this.vertexCount + i] = 0;
+		}
+	}
+
+	/**
+	 * Create a new route table from precomputed routes
+	 * 
+	 * @param vertexIds    Vertex ids. Their position determines their index.
+	 * @param nextHops     Next hops, indexed by source and sink
+	 * @param hopDistances Hop distances, indexed by source and sink
+	 * @param distances    Shortest distances, indexed by source and sink
+	 */
+	public RouteTable(List<String> vertexIds, int[] nextHops,
+			double[] hopDistances, double[] distances) {
+		this.vertexCount = vertexIds.size();
+		this.vertexIds = vertexIds.toArray(new String[this.vertexCount]);
+		this.vertexIndexes = new HashMap<>();
+		for (int i = 0; i < this.vertexCount; i++) {
+			this.vertexIndexes.put(this.vertexIds[i], i);
+		}
+		this.nextHops = nextHops;
+		this.hopDistances = hopDistances;
+		this.distances = distances;
+	}
+
+	/**
+	 * Set the route between two vertexes
+	 * 
+	 * @param source      Source index
+	 * @param sink        Sink index
+	 * @param nextHop     Index of the next hop towards the sink
+	 * @param hopDistance Distance of the next hop (unit: meters)
+	 * @param distance    Shortest distance to the sink (unit: meters)
+	 */
+	public void setRoute(int source, int sink, int nextHop, double hopDistance,
+			double distance) {
+		int cell = source * this.vertexCount + sink;
+		this.nextHops[cell] = nextHop;
+		this.hopDistances[cell] = hopDistance;
+		this.distances[cell] = distance;
+	}
+
+	/**
+	 * Get the next hop from a source towards a sink. It returns NO_ROUTE if
+	 * the sink has been reached or it is unreachable.
+	 * 
+	 * @param source Source index
+	 * @param sink   Sink index
+	 */
+	public int getNextHop(int source, int sink) {
+		return this.nextHops[source * this.vertexCount + sink];
+	}
+
+	/**
+	 * Get the distance of the next hop from a source towards a sink (unit:
+	 * meters)
+	 * 
+	 * @param source Source index
+	 * @param sink   Sink index
+	 */
+	public double getHopDistance(int source, int sink) {
+		return this.hopDistances[source * this.vertexCount + sink];
+	}
+
+	/**
+	 * Get the shortest distance from a source to a sink (unit: meters)
+	 * 
+	 * @param source Source index
+	 * @param sink   Sink index
+	 */
+	public double getDistance(int source, int sink) {
+		return this.distances[source * this.vertexCount + sink];
+	}
+
+	/**
+	 * Get vertex index. It returns NO_ROUTE if the vertex is not part of the
+	 * table.
+	 * 
+	 * @param vertexId Vertex id
+	 */
+	public int getVertexIndex(String vertexId) {
+		Integer index = this.vertexIndexes.get(vertexId);
+		return index == null ? NO_ROUTE : index;
+	}
+
+	/**
+	 * Get vertex id
+	 * 
+	 * @param index Vertex index
+	 */
+	public String getVertexId(int index) {
+		return this.vertexIds[index];
+	}
+
+	/**
+	 * Get vertex count
+	 */
+	public int getVertexCount() {
+		return this.vertexCount;
+	}
+
+}
\ No newline at end of file
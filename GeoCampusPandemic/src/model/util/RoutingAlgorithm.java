@@ -0,0 +1,45 @@
+package model.util;
+
+public enum RoutingAlgorithm {
+	DIJKSTRA("Dijkstra"),
+	PARALLEL_DIJKSTRA("Parallel-Dijkstra"),
+	FLOYD_WARSHALL("Floyd-Warshall"),
+	AUTO("auto");
+
+	/**
+	 * Value of the routing algorithm parameter
+	 */
+	private final String parameterValue;
+
+	/**
+	 * Create a new routing algorithm
+	 * 
+	 * @param parameterValue Value of the routing algorithm parameter
+	 */
+	RoutingAlgorithm(String parameterValue) {
+		this.parameterValue = parameterValue;
+	}
+
+	/**
+	 * Get value of the routing algorithm parameter
+	 */
+	public String getParameterValue() {
+		return this.parameterValue;
+	}
+
+	/**
+	 * Get the routing algorithm of a parameter value. It returns null if
+	 * the value is unknown.
+	 * 
+	 * @param parameterValue Value of the routing algorithm parameter
+	 */
+	public static RoutingAlgorithm fromParameterValue(String parameterValue) {
+		for (RoutingAlgorithm value : values()) {
+			if (value.parameterValue.equals(parameterValue)) {
+				return value;
+			}
+		}
+		return null;
+	}
+
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package simulation;
 
 import repast.simphony.engine.environment.RunEnvironment;
+import repast.simphony.engine.schedule.IAction;
 import repast.simphony.engine.schedule.ISchedulableAction;
 import repast.simphony.engine.schedule.ISchedule;
 import repast.simphony.engine.schedule.ScheduleParameters;
@@ -8,6 +9,12 @@ import repast.simphony.essentials.RepastEssentials;
 
 public final class EventScheduler {
 
+	/**
+	 * Priority of events that run right before data collection, which is
+	 * scheduled last in every tick
+	 */
+	public static final double PRE_COLLECTION_PRIORITY = -Double.MAX_VALUE;
+
 	/**
 	 * Instance
 	 */
@@ -33,37 +40,47 @@ public final class EventScheduler {
 	 * Schedule one-time event
 	 * 
 	 * @param ticksToEvent Ticks to event
-	 * @param obj          Object
-	 * @param methodName   Method's name
-	 * @param methodParams Method's parameters
+	 * @param action       Action to execute
 	 */
-	public void scheduleOneTimeEvent(double ticksToEvent, Object obj,
-			String methodName, Object... methodParams) {
+	public ISchedulableAction scheduleOneTimeEvent(double ticksToEvent,
+			IAction action) {
 		ISchedule schedule = RunEnvironment.getInstance().getCurrentSchedule();
 		double currentTick = RepastEssentials.GetTickCount();
 		double startTime = currentTick + ticksToEvent;
 		ScheduleParameters params = ScheduleParameters.createOneTime(startTime);
-		schedule.schedule(params, obj, methodName, methodParams);
+		return schedule.schedule(params, action);
 	}
 
 	/**
 	 * Schedule recurring event
 	 * 
 	 * @param ticksToEvent Ticks to event
-	 * @param obj          Object
 	 * @param tickInterval Tick interval
-	 * @param methodName   Method's name
-	 * @param methodParams Method's parameters
+	 * @param action       Action to execute
 	 */
 	public ISchedulableAction scheduleRecurringEvent(double ticksToEvent,
-			Object obj, double tickInterval, String methodName,
-			Object... methodParams) {
+			double tickInterval, IAction action) {
 		ISchedule schedule = RunEnvironment.getInstance().getCurrentSchedule();
 		double currentTick = RepastEssentials.GetTickCount();
 		double startTime = currentTick + ticksToEvent;
 		ScheduleParameters params = ScheduleParameters
 				.createRepeating(startTime, tickInterval);
-		return schedule.schedule(params, obj, methodName, methodParams);
+		return schedule.schedule(params, action);
+	}
+
+	/**
+	 * Schedule recurring event that runs right before data collection
+	 * 
+	 * @param startTick    Start tick
+	 * @param tickInterval Tick interval
+	 * @param action       Action to execute
+	 */
+	public ISchedulableAction schedulePreCollectionEvent(double startTick,
+			double tickInterval, IAction action) {
+		ISchedule schedule = RunEnvironment.getInstance().getCurrentSchedule();
+		ScheduleParameters params = ScheduleParameters.createRepeating(
+				startTick, tickInterval, PRE_COLLECTION_PRIORITY);
+		return schedule.schedule(params, action);
 	}
 
 }
\ No newline at end of file
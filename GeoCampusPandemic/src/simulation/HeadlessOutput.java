@@ -0,0 +1,150 @@
+package simulation;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import gis.GISDensityMeter;
+import model.disease.EpidemicRegistry;
+import repast.simphony.context.Context;
+import repast.simphony.engine.schedule.ISchedule;
+import repast.simphony.engine.schedule.ScheduleParameters;
+
+public class HeadlessOutput {
+
+	/**
+	 * Epidemic file
+	 */
+	public static final String EPIDEMIC_FILE = "./output/Epidemic.csv";
+
+	/**
+	 * Density file
+	 */
+	public static final String DENSITY_FILE = "./output/Density.csv";
+
+	/**
+	 * Simulation context
+	 */
+	private Context<Object> context;
+
+	/**
+	 * Schedule
+	 */
+	private ISchedule schedule;
+
+	/**
+	 * Run number
+	 */
+	private int run;
+
+	/**
+	 * Epidemic writer
+	 */
+	private PrintWriter epidemicWriter;
+
+	/**
+	 * Density writer
+	 */
+	private PrintWriter densityWriter;
+
+	/**
+	 * Create a new headless output. It writes the same aggregate time series
+	 * as the Epidemic and Density file sinks of the scenario.
+	 * 
+	 * @param context      Simulation context
+	 * @param run          Run number
+	 * @param epidemicFile Epidemic file
+	 * @param densityFile  Density file
+	 */
+	public HeadlessOutput(Context<Object> context, int run,
+			String epidemicFile, String densityFile) throws IOException {
+		this.context = context;
+		this.run = run;
+		this.epidemicWriter = createWriter(epidemicFile);
+		this.epidemicWriter.println("\"run\",\"tick\",\"susceptible\","
+				+ "\"exposed\",\"infected\",\"immune\",\"dead\"");
+		this.densityWriter = createWriter(densityFile);
+		this.densityWriter.println("\"run\",\"tick\",\"meanDensity\"");
+	}
+
+	/**
+	 * Schedule recording. Both time series are recorded last in every tick,
+	 * like the data sets of the scenario.
+	 * 
+	 * @param schedule Schedule
+	 */
+	public void schedule(ISchedule schedule) {
+		this.schedule = schedule;
+		schedule.schedule(ScheduleParameters.createRepeating(0, 1,
+				ScheduleParameters.LAST_PRIORITY), this::recordDensity);
+		schedule.schedule(ScheduleParameters.createRepeating(1, 1,
+				ScheduleParameters.LAST_PRIORITY), this::recordEpidemic);
+	}
+
+	/**
+	 * Record epidemic
+	 */
+	public void recordEpidemic() {
+		double susceptible = 0;
+		double exposed = 0;
+		double infected = 0;
+		double immune = 0;
+		double dead = 0;
+		for (Object registry : this.context
+				.getObjects(EpidemicRegistry.class)) {
+			EpidemicRegistry epidemicRegistry = (EpidemicRegistry) registry;
+			susceptible += epidemicRegistry.getSusceptibleCount();
+			exposed += epidemicRegistry.getExposedCount();
+			infected += epidemicRegistry.getInfectedCount();
+			immune += epidemicRegistry.getImmuneCount();
+			dead += epidemicRegistry.getDeadCount();
+		}
+		this.epidemicWriter.printf("%d,%s,%s,%s,%s,%s,%s%n", this.run,
+				getTick(), susceptible, exposed, infected, immune, dead);
+	}
+
+	/**
+	 * Record density
+	 */
+	public void recordDensity() {
+		double totalDensity = 0;
+		int meters = 0;
+		for (Object polygon : this.context
+				.getObjects(GISDensityMeter.class)) {
+			totalDensity += ((GISDensityMeter) polygon).measureDensity();
+			meters++;
+		}
+		double meanDensity = meters > 0 ? totalDensity / meters : Double.NaN;
+		this.densityWriter.printf("%d,%s,%s%n", this.run, getTick(),
+				meanDensity);
+	}
+
+	/**
+	 * Close output files
+	 */
+	public void close() {
+		this.epidemicWriter.close();
+		this.densityWriter.close();
+	}
+
+	/**
+	 * Get current tick
+	 */
+	private double getTick() {
+		return this.schedule.getTickCount();
+	}
+
+	/**
+	 * Create writer. Parent directories are created if needed.
+	 * 
+	 * @param filename File name
+	 */
+	private static PrintWriter createWriter(String filename)
+			throws IOException {
+		Path path = Paths.get(filename).toAbsolutePath();
+		Files.createDirectories(path.getParent());
+		return new PrintWriter(Files.newBufferedWriter(path));
+	}
+
+}
\ No newline at end of file
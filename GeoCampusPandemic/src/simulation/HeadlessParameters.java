@@ -0,0 +1,146 @@
+package simulation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+import repast.simphony.parameter.DefaultParameters;
+
+public final class HeadlessParameters {
+
+	/**
+	 * Parameter declarations of the scenario
+	 */
+	public static final String DEFAULTS_FILE = "./GeoCampusPandemic.rs/parameters.xml";
+
+	/**
+	 * Marker of parameters declared without a default value
+	 */
+	private static final String NULL_VALUE = "__NULL__";
+
+	/**
+	 * Random seed parameter id
+	 */
+	public static final String RANDOM_SEED_PARAM_ID = "randomSeed";
+
+	/**
+	 * Private constructor
+	 */
+	private HeadlessParameters() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Load run parameters. Every parameter declared by the scenario starts
+	 * with its default value, and is then overridden by the parameters file.
+	 * The parameters file holds one 'id=value' line per parameter. The
+	 * random seed defaults to the current time. It throws an
+	 * IllegalArgumentException if a file can't be read or it has unknown
+	 * parameters or invalid values.
+	 * 
+	 * @param defaultsFile   Parameter declarations of the scenario
+	 * @param parametersFile Parameters file
+	 */
+	public static DefaultParameters load(String defaultsFile,
+			String parametersFile) {
+		DefaultParameters parameters = new DefaultParameters();
+		Map<String, Class<?>> types = new HashMap<>();
+		try {
+			File file = Paths.get(defaultsFile).toFile();
+			NodeList declarations = DocumentBuilderFactory.newInstance()
+					.newDocumentBuilder().parse(file)
+					.getElementsByTagName("parameter");
+			for (int i = 0; i < declarations.getLength(); i++) {
+				Element declaration = (Element) declarations.item(i);
+				String id = declaration.getAttribute("name");
+				Class<?> type = getType(declaration.getAttribute("type"));
+				Object value = parse(type,
+						declaration.getAttribute("defaultValue"));
+				parameters.addParameter(id,
+						declaration.getAttribute("displayName"), type, value,
+						false);
+				types.put(id, type);
+			}
+			int seed = (int) System.currentTimeMillis();
+			if (!types.containsKey(RANDOM_SEED_PARAM_ID)) {
+				parameters.addParameter(RANDOM_SEED_PARAM_ID,
+						"Default Random Seed", Integer.class, seed, false);
+				types.put(RANDOM_SEED_PARAM_ID, Integer.class);
+			} else if (parameters.getValue(RANDOM_SEED_PARAM_ID) == null) {
+				parameters.setValue(RANDOM_SEED_PARAM_ID, seed);
+			}
+			Properties overrides = new Properties();
+			try (Reader reader = Files
+					.newBufferedReader(Paths.get(parametersFile))) {
+				overrides.load(reader);
+			}
+			for (String id : overrides.stringPropertyNames()) {
+				Class<?> type = types.get(id);
+				if (type == null) {
+					throw new IllegalArgumentException(
+							"Unknown parameter: " + id);
+				}
+				parameters.setValue(id,
+						parse(type, overrides.getProperty(id).trim()));
+			}
+		} catch (IOException | ParserConfigurationException
+				| SAXException e) {
+			throw new IllegalArgumentException(
+					"Parameters can't be loaded: " + e.getMessage(), e);
+		}
+		return parameters;
+	}
+
+	/**
+	 * Get parameter type
+	 * 
+	 * @param typeName Type name, as declared by the scenario
+	 */
+	private static Class<?> getType(String typeName) {
+		switch (typeName) {
+		case "int":
+			return Integer.class;
+		case "long":
+			return Long.class;
+		case "double":
+			return Double.class;
+		case "boolean":
+			return Boolean.class;
+		default:
+			return String.class;
+		}
+	}
+
+	/**
+	 * Parse parameter value. It returns null for parameters without a value,
+	 * and it throws an IllegalArgumentException if the value is not valid for
+	 * the type.
+	 * 
+	 * @param type  Parameter type
+	 * @param value Value
+	 */
+	private static Object parse(Class<?> type, String value) {
+		if (value.equals(NULL_VALUE)) {
+			return null;
+		} else if (type == Integer.class) {
+			return Integer.valueOf(value);
+		} else if (type == Long.class) {
+			return Long.valueOf(value);
+		} else if (type == Double.class) {
+			return Double.valueOf(value);
+		} else if (type == Boolean.class) {
+			return Boolean.valueOf(value);
+		}
+		return value;
+	}
+
+}
\ No newline at end of file
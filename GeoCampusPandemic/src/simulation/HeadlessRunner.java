@@ -0,0 +1,113 @@
+package simulation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import repast.simphony.context.Context;
+import repast.simphony.context.DefaultContext;
+import repast.simphony.engine.environment.RunEnvironment;
+import repast.simphony.engine.schedule.ISchedule;
+import repast.simphony.engine.schedule.Schedule;
+import repast.simphony.parameter.Parameters;
+import repast.simphony.random.RandomHelper;
+
+public final class HeadlessRunner {
+
+	/**
+	 * Epidemic file name within an output directory
+	 */
+	public static final String EPIDEMIC_FILENAME = "Epidemic.csv";
+
+	/**
+	 * Density file name within an output directory
+	 */
+	public static final String DENSITY_FILENAME = "Density.csv";
+
+	/**
+	 * Private constructor
+	 */
+	private HeadlessRunner() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Run the simulation without the Repast runtime. The first argument is a
+	 * parameters file with one 'id=value' line per parameter to override.
+	 * The run number and the output directory can follow. It must be run
+	 * from the project directory, and it writes the Epidemic and Density
+	 * outputs of the scenario.
+	 * 
+	 * @param args Arguments
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1 && args.length != 3) {
+			System.err.println("Usage: HeadlessRunner <parameters file> "
+					+ "[<run> <output directory>]");
+			System.exit(1);
+		}
+		Parameters parameters = HeadlessParameters
+				.load(HeadlessParameters.DEFAULTS_FILE, args[0]);
+		int run = 1;
+		String epidemicFile = HeadlessOutput.EPIDEMIC_FILE;
+		String densityFile = HeadlessOutput.DENSITY_FILE;
+		if (args.length == 3) {
+			run = Integer.parseInt(args[1]);
+			Path directory = Paths.get(args[2]);
+			epidemicFile = directory.resolve(EPIDEMIC_FILENAME).toString();
+			densityFile = directory.resolve(DENSITY_FILENAME).toString();
+		}
+		long start = System.nanoTime();
+		run(parameters, run, epidemicFile, densityFile);
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.printf("Run %d finished in %.1f s%n", run, seconds);
+	}
+
+	/**
+	 * Build the simulation on a plain context and schedule. The campus, the
+	 * population and the event loop are built by the simulation builder, and
+	 * agents are scheduled by their annotations as the Repast runtime would.
+	 * It returns the context.
+	 * 
+	 * @param parameters Run parameters
+	 * @param schedule   Schedule
+	 */
+	public static Context<Object> build(Parameters parameters,
+			ISchedule schedule) {
+		RunEnvironment.init(schedule, null, parameters, true);
+		RandomHelper.setSeed(
+				parameters.getInteger(HeadlessParameters.RANDOM_SEED_PARAM_ID));
+		Context<Object> context = new DefaultContext<>();
+		new SimulationBuilder().build(context);
+		for (Object agent : new ArrayList<>(context)) {
+			schedule.schedule(agent);
+		}
+		return context;
+	}
+
+	/**
+	 * Run the simulation and write its outputs
+	 * 
+	 * @param parameters   Run parameters
+	 * @param run          Run number
+	 * @param epidemicFile Epidemic file
+	 * @param densityFile  Density file
+	 */
+	public static void run(Parameters parameters, int run,
+			String epidemicFile, String densityFile) throws IOException {
+		ISchedule schedule = new Schedule();
+		Context<Object> context = build(parameters, schedule);
+		HeadlessOutput output = new HeadlessOutput(context, run,
+				epidemicFile, densityFile);
+		output.schedule(schedule);
+		try {
+			while (schedule.getTickCount() < SimulationBuilder.END_TICK) {
+				schedule.execute();
+			}
+			schedule.executeEndActions();
+		} finally {
+			output.close();
+		}
+	}
+
+}
\ No newline at end of file
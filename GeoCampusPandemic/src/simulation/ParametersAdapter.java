@@ -2,6 +2,7 @@ package simulation;
 
 import model.learning.LearningStyle;
 import model.learning.SelectionStrategy;
+import model.util.RoutingAlgorithm;
 import repast.simphony.engine.environment.RunEnvironment;
 import repast.simphony.parameter.Parameters;
 
@@ -82,6 +83,51 @@ public final class ParametersAdapter {
 	 */
 	private static final String MAX_INIT_Q_VALUE_PARAM_ID = "maxInitQValue";
 
+	/**
+	 * Routing algorithm parameter id
+	 */
+	private static final String ROUTING_ALGORITHM_PARAM_ID = "routingAlgorithm";
+
+	/**
+	 * Lazy transit parameter id
+	 */
+	private static final String LAZY_TRANSIT_PARAM_ID = "lazyTransit";
+
+	/**
+	 * Policy export tick parameter id
+	 */
+	private static final String POLICY_EXPORT_TICK_PARAM_ID = "policyExportTick";
+
+	/**
+	 * Warm start parameter id
+	 */
+	private static final String WARM_START_PARAM_ID = "warmStart";
+
+	/**
+	 * Policy freeze tick parameter id
+	 */
+	private static final String POLICY_FREEZE_TICK_PARAM_ID = "policyFreezeTick";
+
+	/**
+	 * Pre-training rounds parameter id
+	 */
+	private static final String PRE_TRAINING_ROUNDS_PARAM_ID = "preTrainingRounds";
+
+	/**
+	 * Pre-training active share parameter id
+	 */
+	private static final String PRE_TRAINING_ACTIVE_SHARE_PARAM_ID = "preTrainingActiveShare";
+
+	/**
+	 * Configuration dump file parameter id
+	 */
+	public static final String CONFIG_DUMP_FILE_PARAM_ID = "configDumpFile";
+
+	/**
+	 * Policies file parameter id
+	 */
+	public static final String POLICIES_FILE_PARAM_ID = "policiesFile";
+
 	/**
 	 * Private constructor
 	 */
@@ -151,12 +197,7 @@ public final class ParametersAdapter {
 	public static SelectionStrategy getSelectionStrategy() {
 		Parameters simParams = RunEnvironment.getInstance().getParameters();
 		String value = simParams.getString(SELECTION_STRATEGY_PARAM_ID);
-		if (value.equals("random")) {
-			return SelectionStrategy.RANDOM;
-		} else if (value.equals("RL-based")) {
-			return SelectionStrategy.RL_BASED;
-		}
-		return null;
+		return SelectionStrategy.fromParameterValue(value);
 	}
 
 	/**
@@ -165,12 +206,7 @@ public final class ParametersAdapter {
 	public static LearningStyle getLearningStyle() {
 		Parameters simParams = RunEnvironment.getInstance().getParameters();
 		String value = simParams.getString(LEARNING_STYLE_PARAM_ID);
-		if (value.equals("Q-learning")) {
-			return LearningStyle.Q_LEARNING;
-		} else if (value.equals("Bandits")) {
-			return LearningStyle.BANDITS;
-		}
-		return null;
+		return LearningStyle.fromParameterValue(value);
 	}
 
 	/**
@@ -221,4 +257,77 @@ public final class ParametersAdapter {
 		return simParams.getDouble(MAX_INIT_Q_VALUE_PARAM_ID);
 	}
 
+	/**
+	 * Get routing algorithm
+	 */
+	public static RoutingAlgorithm getRoutingAlgorithm() {
+		Parameters simParams = RunEnvironment.getInstance().getParameters();
+		String value = simParams.getString(ROUTING_ALGORITHM_PARAM_ID);
+		return RoutingAlgorithm.fromParameterValue(value);
+	}
+
+	/**
+	 * Get lazy transit
+	 */
+	public static boolean getLazyTransit() {
+		Parameters simParams = RunEnvironment.getInstance().getParameters();
+		return simParams.getBoolean(LAZY_TRANSIT_PARAM_ID);
+	}
+
+	/**
+	 * Get policy export tick
+	 */
+	public static double getPolicyExportTick() {
+		Parameters simParams = RunEnvironment.getInstance().getParameters();
+		return simParams.getDouble(POLICY_EXPORT_TICK_PARAM_ID);
+	}
+
+	/**
+	 * Get warm start
+	 */
+	public static boolean getWarmStart() {
+		Parameters simParams = RunEnvironment.getInstance().getParameters();
+		return simParams.getBoolean(WARM_START_PARAM_ID);
+	}
+
+	/**
+	 * Get policy freeze tick
+	 */
+	public static double getPolicyFreezeTick() {
+		Parameters simParams = RunEnvironment.getInstance().getParameters();
+		return simParams.getDouble(POLICY_FREEZE_TICK_PARAM_ID);
+	}
+
+	/**
+	 * Get pre-training rounds
+	 */
+	public static int getPreTrainingRounds() {
+		Parameters simParams = RunEnvironment.getInstance().getParameters();
+		return simParams.getInteger(PRE_TRAINING_ROUNDS_PARAM_ID);
+	}
+
+	/**
+	 * Get pre-training active share
+	 */
+	public static double getPreTrainingActiveShare() {
+		Parameters simParams = RunEnvironment.getInstance().getParameters();
+		return simParams.getDouble(PRE_TRAINING_ACTIVE_SHARE_PARAM_ID);
+	}
+
+	/**
+	 * Get configuration dump file
+	 */
+	public static String getConfigDumpFile() {
+		Parameters simParams = RunEnvironment.getInstance().getParameters();
+		return simParams.getString(CONFIG_DUMP_FILE_PARAM_ID);
+	}
+
+	/**
+	 * Get policies file
+	 */
+	public static String getPoliciesFile() {
+		Parameters simParams = RunEnvironment.getInstance().getParameters();
+		return simParams.getString(POLICIES_FILE_PARAM_ID);
+	}
+
 }
\ No newline at end of file
@@ -2,28 +2,49 @@ package simulation;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.jgrapht.Graph;
-import org.jgrapht.GraphPath;
 import org.jgrapht.graph.DefaultWeightedEdge;
 import org.opengis.feature.simple.SimpleFeature;
+import com.vividsolutions.jts.geom.Envelope;
 import com.vividsolutions.jts.geom.Geometry;
 import com.vividsolutions.jts.geom.MultiPolygon;
 import config.SourcePaths;
+import datasource.GeometryCache;
+import datasource.PolicyStore;
 import datasource.Reader;
+import datasource.RouteCache;
+import gis.GISContactIndex;
 import gis.GISPolygon;
+import gis.GISPolygonRegistry;
+import gis.PolygonCategory;
+import model.agents.CommunityMember;
 import model.agents.Group;
 import model.agents.Schedule;
 import model.agents.Staffer;
 import model.agents.Student;
+import model.agents.TransitRegistry;
 import model.disease.Compartment;
+import model.disease.EpidemicRegistry;
+import model.learning.FrozenPolicyPool;
+import model.learning.LearningIndex;
+import model.learning.LearningMechanism;
+import model.learning.MeanFieldTrainer;
+import model.learning.SharedQTablePool;
 import model.util.Heuristics;
+import model.util.PolygonSelector;
+import model.util.RouteTable;
+import model.util.RoutingAlgorithm;
 import repast.simphony.context.Context;
 import repast.simphony.context.space.gis.GeographyFactory;
 import repast.simphony.context.space.gis.GeographyFactoryFinder;
 import repast.simphony.dataLoader.ContextBuilder;
 import repast.simphony.engine.environment.RunEnvironment;
+import repast.simphony.engine.schedule.ISchedule;
+import repast.simphony.engine.schedule.ScheduleParameters;
+import repast.simphony.essentials.RepastEssentials;
 import repast.simphony.space.gis.Geography;
 import repast.simphony.space.gis.GeographyParameters;
 
@@ -39,11 +60,35 @@ public class SimulationBuilder implements ContextBuilder<Object> {
 	 */
 	public static final String GEOGRAPHY_PROJECTION_ID = "campus";
 
+	/**
+	 * Shapefiles of the campus
+	 */
+	private static final String[] CAMPUS_SHAPEFILES = {
+			SourcePaths.TEACHING_FACILITIES_GEOMETRY_SHAPEFILE,
+			SourcePaths.SHARED_AREAS_GEOMETRY_SHAPEFILE,
+			SourcePaths.EATING_PLACES_GEOMETRY_SHAPEFILE,
+			SourcePaths.INOUTS_GEOMETRY_SHAPEFILE,
+			SourcePaths.VEHICLE_INOUTS_GEOMETRY_SHAPEFILE,
+			SourcePaths.TRANSIT_AREAS_GEOMETRY_SHAPEFILE,
+			SourcePaths.PARKING_LOTS_GEOMETRY_SHAPEFILE,
+			SourcePaths.LIMBOS_GEOMETRY_SHAPEFILE,
+			SourcePaths.OTHER_FACILITIES_GEOMETRY_SHAPEFILE };
+
+	/**
+	 * Configuration of the run
+	 */
+	public SimulationConfig config;
+
 	/**
 	 * Reference to geography projection
 	 */
 	public Geography<Object> geography;
 
+	/**
+	 * Registry of every polygon
+	 */
+	public GISPolygonRegistry polygonRegistry;
+
 	/**
 	 * Teaching facilities
 	 */
@@ -90,14 +135,69 @@ public class SimulationBuilder implements ContextBuilder<Object> {
 	public Map<String, GISPolygon> workplaces;
 
 	/**
-	 * Routes
+	 * Selector of eating places
+	 */
+	public PolygonSelector eatingPlaceSelector;
+
+	/**
+	 * Selector of places to have fun: shared areas and eating places
 	 */
-	public Graph<String, DefaultWeightedEdge> routes;
+	public PolygonSelector funPlaceSelector;
+
+	/**
+	 * Selector of in-out spots
+	 */
+	public PolygonSelector inOutSelector;
+
+	/**
+	 * Selector of vehicle in-out spots
+	 */
+	public PolygonSelector vehicleInOutSelector;
+
+	/**
+	 * Selector of workplaces
+	 */
+	public PolygonSelector workplaceSelector;
+
+	/**
+	 * State and action index shared by learners
+	 */
+	public LearningIndex learningIndex;
+
+	/**
+	 * Q-tables shared by learners
+	 */
+	public SharedQTablePool sharedQTables;
 
 	/**
 	 * Shortest paths between all vertexes
 	 */
-	public Map<String, GraphPath<String, DefaultWeightedEdge>> shortestPaths;
+	public RouteTable routeTable;
+
+	/**
+	 * Polygons by route table index
+	 */
+	public GISPolygon[] routePolygons;
+
+	/**
+	 * Contact index of community members
+	 */
+	public GISContactIndex<CommunityMember> contactIndex;
+
+	/**
+	 * Registry of community members in transit
+	 */
+	public TransitRegistry transitRegistry;
+
+	/**
+	 * Registry of community members by compartment
+	 */
+	public EpidemicRegistry epidemicRegistry;
+
+	/**
+	 * Community members in the order they were added to the simulation
+	 */
+	public List<CommunityMember> communityMembers;
 
 	/**
 	 * Build simulation
@@ -107,92 +207,127 @@ public class SimulationBuilder implements ContextBuilder<Object> {
 	@Override
 	public Context<Object> build(Context<Object> context) {
 		context.setId("GeoCampusPandemic");
+		// Snapshot configuration
+		this.config = SimulationConfig.snapshot();
+		this.config.validate();
+		this.config.dump(this.config.getConfigDumpFile());
 		// Create geography projection
 		this.geography = createGeographyProjection(context);
+		// Initialize polygon registry
+		this.polygonRegistry = new GISPolygonRegistry();
 		// Initialize teaching facilities
 		this.teachingFacilities = readPolygons(
 				SourcePaths.TEACHING_FACILITIES_GEOMETRY_SHAPEFILE,
-				SourcePaths.TEACHING_FACILITIES_ATTRIBUTES_DATABASE);
+				SourcePaths.TEACHING_FACILITIES_ATTRIBUTES_DATABASE,
+				PolygonCategory.TEACHING_FACILITY);
 		for (GISPolygon teachingFacility : this.teachingFacilities.values()) {
 			context.add(teachingFacility);
 		}
 		// Initialize shared areas
 		this.sharedAreas = readPolygons(
 				SourcePaths.SHARED_AREAS_GEOMETRY_SHAPEFILE,
-				SourcePaths.SHARED_AREAS_ATTRIBUTES_DATABASE);
+				SourcePaths.SHARED_AREAS_ATTRIBUTES_DATABASE,
+				PolygonCategory.SHARED_AREA);
 		for (GISPolygon sharedArea : this.sharedAreas.values()) {
 			context.add(sharedArea);
 		}
 		// Initialize eating places
 		this.eatingPlaces = readPolygons(
 				SourcePaths.EATING_PLACES_GEOMETRY_SHAPEFILE,
-				SourcePaths.EATING_PLACES_ATTRIBUTES_DATABASE);
+				SourcePaths.EATING_PLACES_ATTRIBUTES_DATABASE,
+				PolygonCategory.EATING_PLACE);
 		for (GISPolygon eatingPlace : this.eatingPlaces.values()) {
 			context.add(eatingPlace);
 		}
 		// Initialize in-outs spots
 		this.inOuts = readPolygons(SourcePaths.INOUTS_GEOMETRY_SHAPEFILE,
-				SourcePaths.INOUT_SPOTS_ATTRIBUTES_DATABASE);
+				SourcePaths.INOUT_SPOTS_ATTRIBUTES_DATABASE,
+				PolygonCategory.IN_OUT);
 		for (GISPolygon inOut : inOuts.values()) {
 			context.add(inOut);
 		}
 		// Initialize vehicle in-out spots
 		this.vehicleInOuts = readPolygons(
 				SourcePaths.VEHICLE_INOUTS_GEOMETRY_SHAPEFILE,
-				SourcePaths.VEHICLE_INOUT_SPOTS_ATTRIBUTES_DATABASE);
+				SourcePaths.VEHICLE_INOUT_SPOTS_ATTRIBUTES_DATABASE,
+				PolygonCategory.VEHICLE_IN_OUT);
 		for (GISPolygon vehicleInOut : vehicleInOuts.values()) {
 			context.add(vehicleInOut);
 		}
 		// Initialize transit areas
 		this.transitAreas = readPolygons(
 				SourcePaths.TRANSIT_AREAS_GEOMETRY_SHAPEFILE,
-				SourcePaths.TRANSIT_AREAS_ATTRIBUTES_DATABASE);
+				SourcePaths.TRANSIT_AREAS_ATTRIBUTES_DATABASE,
+				PolygonCategory.TRANSIT_AREA);
 		for (GISPolygon transitArea : transitAreas.values()) {
 			context.add(transitArea);
 		}
 		// Initialize parking lots
 		this.parkingLots = readPolygons(
 				SourcePaths.PARKING_LOTS_GEOMETRY_SHAPEFILE,
-				SourcePaths.PARKING_LOTS_ATTRIBUTES_DATABASE);
+				SourcePaths.PARKING_LOTS_ATTRIBUTES_DATABASE,
+				PolygonCategory.PARKING_LOT);
 		for (GISPolygon parkingLot : parkingLots.values()) {
 			context.add(parkingLot);
 		}
 		// Initialize limbos
 		this.limbos = readPolygons(SourcePaths.LIMBOS_GEOMETRY_SHAPEFILE,
-				SourcePaths.LIMBOS_ATTRIBUTES_DATABASE);
+				SourcePaths.LIMBOS_ATTRIBUTES_DATABASE,
+				PolygonCategory.LIMBO);
 		for (GISPolygon limbo : this.limbos.values()) {
 			context.add(limbo);
 		}
 		// Initialize other facilities
 		Map<String, GISPolygon> otherFacitilies = readPolygons(
 				SourcePaths.OTHER_FACILITIES_GEOMETRY_SHAPEFILE,
-				SourcePaths.OTHER_FACILITIES_ATTRIBUTES_DATABASE);
+				SourcePaths.OTHER_FACILITIES_ATTRIBUTES_DATABASE,
+				PolygonCategory.OTHER_FACILITY);
 		for (GISPolygon otherFacility : otherFacitilies.values()) {
 			context.add(otherFacility);
 		}
+		// Resolve polygon links
+		this.polygonRegistry.resolveLinks();
 		// Initialize workplaces
 		this.workplaces = readWorkplaces();
-		// Read routes
-		this.routes = Reader.readRoutesDatabase(SourcePaths.ROUTES_DATABASE);
-		// Find shortest paths
-		this.shortestPaths = Heuristics.findShortestPaths(this.routes);
+		// Initialize polygon selectors
+		createPolygonSelectors();
+		// Initialize learning index
+		this.learningIndex = new LearningIndex(this.teachingFacilities,
+				this.sharedAreas, this.eatingPlaces);
+		this.sharedQTables = new SharedQTablePool(this.config,
+				this.learningIndex);
+		// Initialize contact index
+		this.contactIndex = createContactIndex();
+		// Initialize transit registry
+		this.transitRegistry = createTransitRegistry();
+		// Initialize epidemic registry
+		this.epidemicRegistry = new EpidemicRegistry();
+		context.add(this.epidemicRegistry);
+		// Load shortest paths
+		this.routeTable = loadRouteTable(this.config.getRoutingAlgorithm());
+		this.routePolygons = indexRoutePolygons();
 		// Read groups
 		Map<String, Group> groups = Reader
 				.readGroupsDatabase(SourcePaths.GROUPS_DATABASE);
 		// Add students to the simulation
+		this.communityMembers = new ArrayList<>();
 		List<Student> students = createStudents();
 		for (Student student : students) {
 			Schedule schedule = Heuristics.buildRandomSchedule(groups);
 			if (schedule != null && schedule.getGroupCount() > 0) {
 				student.setSchedule(schedule);
 				context.add(student);
+				this.communityMembers.add(student);
 			}
 		}
 		// Add staffers to the simulation
 		List<Staffer> staffers = createStaffers();
 		for (Staffer staff : staffers) {
 			context.add(staff);
+			this.communityMembers.add(staff);
 		}
+		// Schedule policy import, pre-training, export and freezing
+		schedulePolicyPersistence();
 		// Set end tick
 		RunEnvironment.getInstance().endAt(END_TICK);
 		return context;
@@ -217,27 +352,145 @@ public class SimulationBuilder implements ContextBuilder<Object> {
 	 * 
 	 * @param geometryPath   Path to geometry file
 	 * @param attributesPath Path to attributes file
+	 * @param category       Category of the polygons
 	 */
 	private Map<String, GISPolygon> readPolygons(String geometryPath,
-			String attributesPath) {
+			String attributesPath, PolygonCategory category) {
 		Map<String, GISPolygon> polygons = new HashMap<>();
-		List<SimpleFeature> features = Reader
-				.loadGeometryFromShapefile(geometryPath);
+		Map<String, Geometry> geometries = loadGeometries(geometryPath);
 		Map<String, GISPolygon> attributes = Reader
 				.readFacilityAttributesDatabase(attributesPath);
-		for (SimpleFeature feature : features) {
-			MultiPolygon multiPolygon = (MultiPolygon) feature
-					.getDefaultGeometry();
-			Geometry geometry = multiPolygon.getGeometryN(0);
-			String id = (String) feature.getAttribute(1);
+		for (Map.Entry<String, Geometry> entry : geometries.entrySet()) {
+			String id = entry.getKey();
 			GISPolygon polygon = attributes.get(id);
 			polygon.setPolygonId(id);
-			polygon.setGeometryInGeography(this.geography, geometry);
+			polygon.setGeometryInGeography(this.geography, entry.getValue());
+			this.polygonRegistry.register(polygon, category);
 			polygons.put(id, polygon);
 		}
 		return polygons;
 	}
 
+	/**
+	 * Create contact index. The index covers every polygon an agent can be
+	 * located at and uses the infection radius as cell size.
+	 */
+	private GISContactIndex<CommunityMember> createContactIndex() {
+		Envelope bounds = new Envelope();
+		List<Map<String, GISPolygon>> polygonMaps = new ArrayList<>();
+		polygonMaps.add(this.teachingFacilities);
+		polygonMaps.add(this.sharedAreas);
+		polygonMaps.add(this.eatingPlaces);
+		polygonMaps.add(this.inOuts);
+		polygonMaps.add(this.vehicleInOuts);
+		polygonMaps.add(this.transitAreas);
+		polygonMaps.add(this.parkingLots);
+		polygonMaps.add(this.limbos);
+		for (Map<String, GISPolygon> polygons : polygonMaps) {
+			for (GISPolygon polygon : polygons.values()) {
+				Geometry geometry = polygon.getGeometry();
+				bounds.expandToInclude(geometry.getEnvelopeInternal());
+			}
+		}
+		double infectionRadius = this.config.getInfectionRadius();
+		return new GISContactIndex<>(bounds, infectionRadius);
+	}
+
+	/**
+	 * Prepare the caches of the static campus: the geometries of every
+	 * shapefile and the route table. Runs that start afterwards read them
+	 * instead of parsing shapefiles and finding shortest paths.
+	 * 
+	 * @param routingAlgorithm Routing algorithm
+	 */
+	public static void prepareCaches(RoutingAlgorithm routingAlgorithm) {
+		for (String shapefile : CAMPUS_SHAPEFILES) {
+			loadGeometries(shapefile);
+		}
+		loadRouteTable(routingAlgorithm);
+	}
+
+	/**
+	 * Load geometries by polygon id, in the order of the shapefile.
+	 * Geometries are read from the geometry cache when it matches the
+	 * shapefile. Otherwise, they are read from the shapefile and cached.
+	 * 
+	 * @param shapefile Shapefile name
+	 */
+	private static Map<String, Geometry> loadGeometries(String shapefile) {
+		long checksum = GeometryCache.checksum(shapefile);
+		String cacheFile = GeometryCache.getCacheFile(
+				SourcePaths.GEOMETRY_CACHE_DIRECTORY, shapefile);
+		Map<String, Geometry> geometries = GeometryCache.read(cacheFile,
+				checksum);
+		if (geometries == null) {
+			geometries = new LinkedHashMap<>();
+			for (SimpleFeature feature : Reader
+					.loadGeometryFromShapefile(shapefile)) {
+				MultiPolygon multiPolygon = (MultiPolygon) feature
+						.getDefaultGeometry();
+				String id = (String) feature.getAttribute(1);
+				geometries.put(id, multiPolygon.getGeometryN(0));
+			}
+			GeometryCache.write(cacheFile, checksum, geometries);
+		}
+		return geometries;
+	}
+
+	/**
+	 * Load route table. Shortest paths are read from the routes cache when it
+	 * matches the routes database. Otherwise, they are found and cached.
+	 * 
+	 * @param routingAlgorithm Routing algorithm
+	 */
+	private static RouteTable loadRouteTable(
+			RoutingAlgorithm routingAlgorithm) {
+		long checksum = RouteCache.checksum(SourcePaths.ROUTES_DATABASE);
+		RouteTable routeTable = RouteCache.read(SourcePaths.ROUTES_CACHE,
+				checksum, routingAlgorithm);
+		if (routeTable == null) {
+			Graph<String, DefaultWeightedEdge> routes = Reader
+					.readRoutesDatabase(SourcePaths.ROUTES_DATABASE);
+			routeTable = Heuristics.findShortestPaths(routes,
+					routingAlgorithm);
+			RouteCache.write(SourcePaths.ROUTES_CACHE, checksum,
+					routingAlgorithm, routeTable);
+		}
+		return routeTable;
+	}
+
+	/**
+	 * Index route polygons. Every polygon learns its index in the route table.
+	 */
+	private GISPolygon[] indexRoutePolygons() {
+		int vertexCount = this.routeTable.getVertexCount();
+		GISPolygon[] polygons = new GISPolygon[vertexCount];
+		for (int i = 0; i < vertexCount; i++) {
+			String id = this.routeTable.getVertexId(i);
+			GISPolygon polygon = getPolygonById(id);
+			if (polygon != null) {
+				polygon.setRouteIndex(i);
+				polygons[i] = polygon;
+			}
+		}
+		return polygons;
+	}
+
+	/**
+	 * Create transit registry. In lazy mode, positions in transit are also
+	 * settled every tick before data is collected.
+	 */
+	private TransitRegistry createTransitRegistry() {
+		boolean lazyTransit = this.config.getLazyTransit();
+		TransitRegistry registry = new TransitRegistry(lazyTransit);
+		if (lazyTransit) {
+			EventScheduler eventScheduler = EventScheduler.getInstance();
+			eventScheduler.schedulePreCollectionEvent(0, 1,
+					() -> registry.settle(RepastEssentials.GetTickCount()));
+		}
+		return registry;
+	}
+
 	/**
 	 * Read workplaces
 	 */
@@ -255,14 +508,30 @@ public class SimulationBuilder implements ContextBuilder<Object> {
 		return placesToWork;
 	}
 
+	/**
+	 * Create polygon selectors
+	 */
+	private void createPolygonSelectors() {
+		this.eatingPlaceSelector = new PolygonSelector(
+				this.eatingPlaces.values());
+		List<GISPolygon> funPlaces = new ArrayList<>();
+		funPlaces.addAll(this.sharedAreas.values());
+		funPlaces.addAll(this.eatingPlaces.values());
+		this.funPlaceSelector = new PolygonSelector(funPlaces);
+		this.inOutSelector = new PolygonSelector(this.inOuts.values());
+		this.vehicleInOutSelector = new PolygonSelector(
+				this.vehicleInOuts.values());
+		this.workplaceSelector = new PolygonSelector(this.workplaces.values());
+	}
+
 	/**
 	 * Create students
 	 */
 	private List<Student> createStudents() {
 		List<Student> students = new ArrayList<>();
-		int susceptibleStudents = ParametersAdapter.getSusceptibleStudents();
-		int exposedStudents = ParametersAdapter.getExposedStudents();
-		double outbreakTick = ParametersAdapter.getOutbreakTick();
+		int susceptibleStudents = this.config.getSusceptibleStudents();
+		int exposedStudents = this.config.getExposedStudents();
+		double outbreakTick = this.config.getOutbreakTick();
 		for (int i = 0; i < exposedStudents; i++) {
 			Student student = new Student(this, Compartment.EXPOSED,
 					Integer.toString(i), outbreakTick);
@@ -281,8 +550,8 @@ public class SimulationBuilder implements ContextBuilder<Object> {
 	 */
 	private List<Staffer> createStaffers() {
 		List<Staffer> staffers = new ArrayList<>();
-		double outbreakTick = ParametersAdapter.getOutbreakTick();
-		int susceptibleStaffers = ParametersAdapter.getSusceptibleStaffers();
+		double outbreakTick = this.config.getOutbreakTick();
+		int susceptibleStaffers = this.config.getSusceptibleStaffers();
 		for (int i = 0; i < susceptibleStaffers; i++) {
 			Staffer staffer = new Staffer(this, Compartment.SUSCEPTIBLE,
 					outbreakTick);
@@ -292,36 +561,125 @@ public class SimulationBuilder implements ContextBuilder<Object> {
 	}
 
 	/**
-	 * Get polygon by id
-	 * 
-	 * @param id Polygon Id
+	 * Schedule policy persistence. Policies are imported and pre-trained
+	 * once every community member has initialized its learning, exported at
+	 * the policy export tick and frozen at the policy freeze tick. Imports
+	 * and pre-training come before freezing when both happen at the start.
 	 */
-	public GISPolygon getPolygonById(String id) {
-		if (this.teachingFacilities.containsKey(id)) {
-			return this.teachingFacilities.get(id);
+	private void schedulePolicyPersistence() {
+		ISchedule schedule = RunEnvironment.getInstance().getCurrentSchedule();
+		if (this.config.getWarmStart()
+				|| this.config.getPreTrainingRounds() > 0) {
+			ScheduleParameters params = ScheduleParameters.createOneTime(0,
+					EventScheduler.PRE_COLLECTION_PRIORITY);
+			schedule.schedule(params, this::preparePolicies);
 		}
-		if (this.sharedAreas.containsKey(id)) {
-			return this.sharedAreas.get(id);
+		double policyExportTick = this.config.getPolicyExportTick();
+		double policyFreezeTick = this.config.getPolicyFreezeTick();
+		if (policyExportTick >= 0 && !isExportedOnFreeze()) {
+			ScheduleParameters params = ScheduleParameters
+					.createOneTime(policyExportTick,
+							ScheduleParameters.LAST_PRIORITY);
+			schedule.schedule(params, this::exportPolicies);
 		}
-		if (this.eatingPlaces.containsKey(id)) {
-			return this.eatingPlaces.get(id);
+		if (policyFreezeTick >= 0) {
+			ScheduleParameters params = ScheduleParameters
+					.createOneTime(policyFreezeTick,
+							ScheduleParameters.LAST_PRIORITY);
+			schedule.schedule(params, this::freezePolicies);
 		}
-		if (this.inOuts.containsKey(id)) {
-			return this.inOuts.get(id);
+	}
+
+	/**
+	 * Prepare policies. Imported policies are pre-trained further if
+	 * pre-training is enabled.
+	 */
+	private void preparePolicies() {
+		if (this.config.getWarmStart()) {
+			importPolicies();
+		}
+		if (this.config.getPreTrainingRounds() > 0) {
+			preTrainPolicies();
 		}
-		if (this.vehicleInOuts.containsKey(id)) {
-			return this.vehicleInOuts.get(id);
+	}
+
+	/**
+	 * Import policies
+	 */
+	private void importPolicies() {
+		String policiesFile = this.config.getPoliciesFile();
+		boolean imported = PolicyStore.read(policiesFile, this.learningIndex,
+				this.config.getLearningStyle(), getLearners(),
+				this.sharedQTables);
+		if (!imported) {
+			throw new IllegalStateException(
+					"Policies don't match this run: " + policiesFile);
 		}
-		if (this.transitAreas.containsKey(id)) {
-			return this.transitAreas.get(id);
+	}
+
+	/**
+	 * Pre-train policies on mean-field occupancy
+	 */
+	private void preTrainPolicies() {
+		MeanFieldTrainer trainer = new MeanFieldTrainer(this.config,
+				this.learningIndex, this.teachingFacilities, this.sharedAreas,
+				this.eatingPlaces);
+		trainer.train(getLearners(), this.config.getPreTrainingRounds());
+	}
+
+	/**
+	 * Export policies
+	 */
+	private void exportPolicies() {
+		PolicyStore.write(this.config.getPoliciesFile(), this.learningIndex,
+				this.config.getLearningStyle(), getLearners(),
+				this.sharedQTables);
+	}
+
+	/**
+	 * Is the policy export done on freeze? Learning stops once policies are
+	 * frozen, so a later export is done right before learners are dropped.
+	 */
+	private boolean isExportedOnFreeze() {
+		double policyExportTick = this.config.getPolicyExportTick();
+		double policyFreezeTick = this.config.getPolicyFreezeTick();
+		return policyExportTick >= 0 && policyFreezeTick >= 0
+				&& policyExportTick >= policyFreezeTick;
+	}
+
+	/**
+	 * Freeze policies. Community members stop learning and follow their
+	 * compiled policy from then on.
+	 */
+	private void freezePolicies() {
+		if (isExportedOnFreeze()) {
+			exportPolicies();
 		}
-		if (this.parkingLots.containsKey(id)) {
-			return this.parkingLots.get(id);
+		FrozenPolicyPool policies = new FrozenPolicyPool(this.config,
+				this.learningIndex);
+		for (CommunityMember communityMember : this.communityMembers) {
+			communityMember.freezePolicy(policies);
 		}
-		if (this.limbos.containsKey(id)) {
-			return this.limbos.get(id);
+	}
+
+	/**
+	 * Get learners of community members
+	 */
+	private List<LearningMechanism> getLearners() {
+		List<LearningMechanism> learners = new ArrayList<>();
+		for (CommunityMember communityMember : this.communityMembers) {
+			learners.add(communityMember.getLearningMechanism());
 		}
-		return null;
+		return learners;
+	}
+
+	/**
+	 * Get polygon by id
+	 * 
+	 * @param id Polygon Id
+	 */
+	public GISPolygon getPolygonById(String id) {
+		return this.polygonRegistry.get(id);
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,496 @@
+package simulation;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import model.learning.LearningStyle;
+import model.learning.SelectionStrategy;
+import model.util.RoutingAlgorithm;
+
+public final class SimulationConfig {
+
+	/**
+	 * Default effective configuration file
+	 */
+	public static final String DUMP_FILE = "./output/Config.txt";
+
+	/**
+	 * Exposed students
+	 */
+	private final int exposedStudents;
+
+	/**
+	 * Susceptible students
+	 */
+	private final int susceptibleStudents;
+
+	/**
+	 * Susceptible staffers
+	 */
+	private final int susceptibleStaffers;
+
+	/**
+	 * Infection radius (unit: meters)
+	 */
+	private final double infectionRadius;
+
+	/**
+	 * Particle expulsion interval (unit: minutes)
+	 */
+	private final double particleExpulsionInterval;
+
+	/**
+	 * Vehicle usage ratio
+	 */
+	private final double vehicleUsageRatio;
+
+	/**
+	 * Social distancing (unit: meters)
+	 */
+	private final double socialDistancing;
+
+	/**
+	 * Selection strategy
+	 */
+	private final SelectionStrategy selectionStrategy;
+
+	/**
+	 * Learning style
+	 */
+	private final LearningStyle learningStyle;
+
+	/**
+	 * Epsilon
+	 */
+	private final double epsilon;
+
+	/**
+	 * Learning rate
+	 */
+	private final double learningRate;
+
+	/**
+	 * Discount factor
+	 */
+	private final double discountFactor;
+
+	/**
+	 * Outbreak tick (unit: hours)
+	 */
+	private final double outbreakTick;
+
+	/**
+	 * Minimum initial Q-value
+	 */
+	private final double minInitQValue;
+
+	/**
+	 * Maximum initial Q-value
+	 */
+	private final double maxInitQValue;
+
+	/**
+	 * Routing algorithm
+	 */
+	private final RoutingAlgorithm routingAlgorithm;
+
+	/**
+	 * Lazy transit
+	 */
+	private final boolean lazyTransit;
+
+	/**
+	 * Policy export tick (unit: hours). Policies are not exported if it is
+	 * negative.
+	 */
+	private final double policyExportTick;
+
+	/**
+	 * Warm start. Learners start from exported policies.
+	 */
+	private final boolean warmStart;
+
+	/**
+	 * Policy freeze tick (unit: hours). Policies are not frozen if it is
+	 * negative.
+	 */
+	private final double policyFreezeTick;
+
+	/**
+	 * Maximum number of mean-field pre-training rounds. Learners are not
+	 * pre-trained if it is zero.
+	 */
+	private final int preTrainingRounds;
+
+	/**
+	 * Share of learners that take part in every pre-training round
+	 */
+	private final double preTrainingActiveShare;
+
+	/**
+	 * Effective configuration file
+	 */
+	private final String configDumpFile;
+
+	/**
+	 * Policies file. Policies are exported to it and imported from it.
+	 */
+	private final String policiesFile;
+
+	/**
+	 * Create a new simulation config from the run parameters
+	 */
+	private SimulationConfig() {
+		this.exposedStudents = ParametersAdapter.getExposedStudents();
+		this.susceptibleStudents = ParametersAdapter.getSusceptibleStudents();
+		this.susceptibleStaffers = ParametersAdapter.getSusceptibleStaffers();
+		this.infectionRadius = ParametersAdapter.getInfectionRadius();
+		this.particleExpulsionInterval = ParametersAdapter
+				.getParticleExpulsionInterval();
+		this.vehicleUsageRatio = ParametersAdapter.getVehicleUsageRatio();
+		this.socialDistancing = ParametersAdapter.getSocialDistancing();
+		this.selectionStrategy = ParametersAdapter.getSelectionStrategy();
+		this.learningStyle = ParametersAdapter.getLearningStyle();
+		this.epsilon = ParametersAdapter.getEpsilon();
+		this.learningRate = ParametersAdapter.getLearningRate();
+		this.discountFactor = ParametersAdapter.getDiscountFactor();
+		this.outbreakTick = ParametersAdapter.getOutbreakTick();
+		this.minInitQValue = ParametersAdapter.getMinimumInitialQValue();
+		this.maxInitQValue = ParametersAdapter.getMaximumInitialQValue();
+		this.routingAlgorithm = ParametersAdapter.getRoutingAlgorithm();
+		this.lazyTransit = ParametersAdapter.getLazyTransit();
+		this.policyExportTick = ParametersAdapter.getPolicyExportTick();
+		this.warmStart = ParametersAdapter.getWarmStart();
+		this.policyFreezeTick = ParametersAdapter.getPolicyFreezeTick();
+		this.preTrainingRounds = ParametersAdapter.getPreTrainingRounds();
+		this.preTrainingActiveShare = ParametersAdapter
+				.getPreTrainingActiveShare();
+		this.configDumpFile = ParametersAdapter.getConfigDumpFile();
+		this.policiesFile = ParametersAdapter.getPoliciesFile();
+	}
+
+	/**
+	 * Take a snapshot of the run parameters
+	 */
+	public static SimulationConfig snapshot() {
+		return new SimulationConfig();
+	}
+
+	/**
+	 * Validate configuration. It throws an IllegalArgumentException listing
+	 * every invalid value.
+	 */
+	public void validate() {
+		List<String> errors = new ArrayList<>();
+		if (this.exposedStudents < 0) {
+			errors.add("exposedStudents must not be negative");
+		}
+		if (this.susceptibleStudents < 0) {
+			errors.add("susceptibleStudents must not be negative");
+		}
+		if (this.susceptibleStaffers < 0) {
+			errors.add("susceptibleStaffers must not be negative");
+		}
+		if (this.infectionRadius <= 0) {
+			errors.add("infectionRadius must be positive");
+		}
+		if (this.particleExpulsionInterval <= 0) {
+			errors.add("particleExpulsionInterval must be positive");
+		}
+		if (!isProbability(this.vehicleUsageRatio)) {
+			errors.add("vehicleUsageRatio must be in [0, 1]");
+		}
+		if (this.socialDistancing <= 0) {
+			errors.add("socialDistancing must be positive");
+		}
+		if (this.selectionStrategy == null) {
+			errors.add("selectionStrategy is unknown");
+		}
+		if (this.learningStyle == null) {
+			errors.add("learningStyle is unknown");
+		}
+		if (this.routingAlgorithm == null) {
+			errors.add("routingAlgorithm is unknown");
+		}
+		if (!isProbability(this.epsilon)) {
+			errors.add("epsilon must be in [0, 1]");
+		}
+		if (!isProbability(this.learningRate)) {
+			errors.add("learningRate must be in [0, 1]");
+		}
+		if (!isProbability(this.discountFactor)) {
+			errors.add("discountFactor must be in [0, 1]");
+		}
+		if (this.outbreakTick < 0) {
+			errors.add("outbreakTick must not be negative");
+		}
+		if (this.minInitQValue > this.maxInitQValue) {
+			errors.add("minInitQValue must not exceed maxInitQValue");
+		}
+		if (this.preTrainingRounds < 0) {
+			errors.add("preTrainingRounds must not be negative");
+		}
+		if (!isProbability(this.preTrainingActiveShare)) {
+			errors.add("preTrainingActiveShare must be in [0, 1]");
+		}
+		if (isBlank(this.configDumpFile)) {
+			errors.add("configDumpFile must not be empty");
+		}
+		if (isBlank(this.policiesFile)) {
+			errors.add("policiesFile must not be empty");
+		}
+		if (!errors.isEmpty()) {
+			throw new IllegalArgumentException(
+					"Invalid configuration: " + String.join("; ", errors));
+		}
+	}
+
+	/**
+	 * Dump effective configuration
+	 * 
+	 * @param filename File name
+	 */
+	public void dump(String filename) {
+		Path path = Paths.get(filename).toAbsolutePath();
+		try {
+			Files.createDirectories(path.getParent());
+			try (PrintWriter writer = new PrintWriter(
+					Files.newBufferedWriter(path))) {
+				for (Map.Entry<String, Object> entry : toMap().entrySet()) {
+					writer.printf("%s=%s%n", entry.getKey(), entry.getValue());
+				}
+			}
+		} catch (IOException ioe) {
+			ioe.printStackTrace();
+		}
+	}
+
+	/**
+	 * Get configuration values by parameter id
+	 */
+	public Map<String, Object> toMap() {
+		Map<String, Object> values = new LinkedHashMap<>();
+		values.put("exposedStudents", this.exposedStudents);
+		values.put("susceptibleStudents", this.susceptibleStudents);
+		values.put("susceptibleStaffers", this.susceptibleStaffers);
+		values.put("infectionRadius", this.infectionRadius);
+		values.put("particleExpulsionInterval",
+				this.particleExpulsionInterval);
+		values.put("vehicleUsageRatio", this.vehicleUsageRatio);
+		values.put("socialDistancing", this.socialDistancing);
+		values.put("selectionStrategy", this.selectionStrategy == null ? null
+				: this.selectionStrategy.getParameterValue());
+		values.put("learningStyle", this.learningStyle == null ? null
+				: this.learningStyle.getParameterValue());
+		values.put("epsilon", this.epsilon);
+		values.put("learningRate", this.learningRate);
+		values.put("discountFactor", this.discountFactor);
+		values.put("outbreakTick", this.outbreakTick);
+		values.put("minInitQValue", this.minInitQValue);
+		values.put("maxInitQValue", this.maxInitQValue);
+		values.put("routingAlgorithm", this.routingAlgorithm == null ? null
+				: this.routingAlgorithm.getParameterValue());
+		values.put("lazyTransit", this.lazyTransit);
+		values.put("policyExportTick", this.policyExportTick);
+		values.put("warmStart", this.warmStart);
+		values.put("policyFreezeTick", this.policyFreezeTick);
+		values.put("preTrainingRounds", this.preTrainingRounds);
+		values.put("preTrainingActiveShare", this.preTrainingActiveShare);
+		values.put("configDumpFile", this.configDumpFile);
+		values.put("policiesFile", this.policiesFile);
+		return values;
+	}
+
+	/**
+	 * Get exposed students
+	 */
+	public int getExposedStudents() {
+		return this.exposedStudents;
+	}
+
+	/**
+	 * Get susceptible students
+	 */
+	public int getSusceptibleStudents() {
+		return this.susceptibleStudents;
+	}
+
+	/**
+	 * Get susceptible staffers
+	 */
+	public int getSusceptibleStaffers() {
+		return this.susceptibleStaffers;
+	}
+
+	/**
+	 * Get infection radius (unit: meters)
+	 */
+	public double getInfectionRadius() {
+		return this.infectionRadius;
+	}
+
+	/**
+	 * Get particle expulsion interval (unit: minutes)
+	 */
+	public double getParticleExpulsionInterval() {
+		return this.particleExpulsionInterval;
+	}
+
+	/**
+	 * Get vehicle usage ratio
+	 */
+	public double getVehicleUsageRatio() {
+		return this.vehicleUsageRatio;
+	}
+
+	/**
+	 * Get social distancing (unit: meters)
+	 */
+	public double getSocialDistancing() {
+		return this.socialDistancing;
+	}
+
+	/**
+	 * Get selection strategy
+	 */
+	public SelectionStrategy getSelectionStrategy() {
+		return this.selectionStrategy;
+	}
+
+	/**
+	 * Get learning style
+	 */
+	public LearningStyle getLearningStyle() {
+		return this.learningStyle;
+	}
+
+	/**
+	 * Get epsilon
+	 */
+	public double getEpsilon() {
+		return this.epsilon;
+	}
+
+	/**
+	 * Get learning rate
+	 */
+	public double getLearningRate() {
+		return this.learningRate;
+	}
+
+	/**
+	 * Get discount factor
+	 */
+	public double getDiscountFactor() {
+		return this.discountFactor;
+	}
+
+	/**
+	 * Get outbreak tick (unit: hours)
+	 */
+	public double getOutbreakTick() {
+		return this.outbreakTick;
+	}
+
+	/**
+	 * Get minimum initial Q-value
+	 */
+	public double getMinimumInitialQValue() {
+		return this.minInitQValue;
+	}
+
+	/**
+	 * Get maximum initial Q-value
+	 */
+	public double getMaximumInitialQValue() {
+		return this.maxInitQValue;
+	}
+
+	/**
+	 * Get routing algorithm
+	 */
+	public RoutingAlgorithm getRoutingAlgorithm() {
+		return this.routingAlgorithm;
+	}
+
+	/**
+	 * Get lazy transit
+	 */
+	public boolean getLazyTransit() {
+		return this.lazyTransit;
+	}
+
+	/**
+	 * Get policy export tick (unit: hours)
+	 */
+	public double getPolicyExportTick() {
+		return this.policyExportTick;
+	}
+
+	/**
+	 * Get warm start
+	 */
+	public boolean getWarmStart() {
+		return this.warmStart;
+	}
+
+	/**
+	 * Get policy freeze tick (unit: hours)
+	 */
+	public double getPolicyFreezeTick() {
+		return this.policyFreezeTick;
+	}
+
+	/**
+	 * Get maximum number of pre-training rounds
+	 */
+	public int getPreTrainingRounds() {
+		return this.preTrainingRounds;
+	}
+
+	/**
+	 * Get pre-training active share
+	 */
+	public double getPreTrainingActiveShare() {
+		return this.preTrainingActiveShare;
+	}
+
+	/**
+	 * Get effective configuration file
+	 */
+	public String getConfigDumpFile() {
+		return this.configDumpFile;
+	}
+
+	/**
+	 * Get policies file
+	 */
+	public String getPoliciesFile() {
+		return this.policiesFile;
+	}
+
+	/**
+	 * Is the value a probability?
+	 * 
+	 * @param value Value
+	 */
+	private static boolean isProbability(double value) {
+		return value >= 0 && value <= 1;
+	}
+
+	/**
+	 * Is the value null or blank?
+	 * 
+	 * @param value Value
+	 */
+	private static boolean isBlank(String value) {
+		return value == null || value.trim().isEmpty();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,247 @@
+package simulation;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import repast.simphony.engine.environment.RunEnvironment;
+import repast.simphony.engine.schedule.Schedule;
+import repast.simphony.parameter.Parameters;
+
+public final class SweepRunner {
+
+	/**
+	 * Directory of replication outputs
+	 */
+	public static final String RUNS_DIRECTORY = "./output/runs";
+
+	/**
+	 * Parameters file name within a replication directory
+	 */
+	public static final String PARAMETERS_FILENAME = "parameters.properties";
+
+	/**
+	 * Log file name within a replication directory
+	 */
+	public static final String LOG_FILENAME = "run.log";
+
+	/**
+	 * Effective configuration file name within a replication directory
+	 */
+	public static final String CONFIG_FILENAME = "Config.txt";
+
+	/**
+	 * Policies file name within a replication directory
+	 */
+	public static final String POLICIES_FILENAME = "policies.bin";
+
+	/**
+	 * Unit of worker heap sizes (megabytes)
+	 */
+	private static final String HEAP_UNIT = "m";
+
+	/**
+	 * Private constructor
+	 */
+	private SweepRunner() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Run replications of a scenario concurrently. The arguments are a
+	 * parameters file, the number of replications and optionally the number
+	 * of workers, which defaults to the number of cores, and the heap of
+	 * every worker in megabytes, which defaults to the maximum heap of this
+	 * process split among the workers. Replication r uses
+	 * the random seed of the parameters file plus r - 1. Outputs of every
+	 * replication are merged by run into the Epidemic and Density outputs of
+	 * the scenario. It must be run from the project directory.
+	 * 
+	 * @param args Arguments
+	 */
+	public static void main(String[] args)
+			throws IOException, InterruptedException {
+		if (args.length < 2 || args.length > 4) {
+			System.err.println("Usage: SweepRunner <parameters file> "
+					+ "<replications> [<workers> [<worker heap>]]");
+			System.exit(1);
+		}
+		int replications = Integer.parseInt(args[1]);
+		int workers = Runtime.getRuntime().availableProcessors();
+		if (args.length >= 3) {
+			workers = Integer.parseInt(args[2]);
+		}
+		long workerHeap = Runtime.getRuntime().maxMemory() / workers
+				/ (1024 * 1024);
+		if (args.length == 4) {
+			workerHeap = Long.parseLong(args[3]);
+		}
+		long start = System.nanoTime();
+		List<Integer> failedRuns = sweep(args[0], replications, workers,
+				workerHeap);
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.printf("%d replications finished in %.1f s%n",
+				replications, seconds);
+		if (!failedRuns.isEmpty()) {
+			System.err.printf("Failed runs: %s. See %s%n", failedRuns,
+					RUNS_DIRECTORY);
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Run replications of a scenario concurrently. Repast keeps the run
+	 * environment, the schedule and the random generator in static state, so
+	 * every replication runs in its own worker process with its own random
+	 * stream and output directory. Every file a replication writes lives in
+	 * that directory: its outputs, its effective configuration and its
+	 * policies, which start as a copy of the policies of the scenario. The
+	 * geometries of the campus and the route table are cached once before
+	 * the workers start, and workers only read those caches. It returns the
+	 * runs that failed.
+	 * 
+	 * @param parametersFile Parameters file
+	 * @param replications   Number of replications
+	 * @param workers        Number of workers
+	 * @param workerHeap     Maximum heap of every worker (unit: megabytes)
+	 */
+	public static List<Integer> sweep(String parametersFile,
+			int replications, int workers, long workerHeap)
+			throws IOException, InterruptedException {
+		Parameters parameters = HeadlessParameters
+				.load(HeadlessParameters.DEFAULTS_FILE, parametersFile);
+		RunEnvironment.init(new Schedule(), null, parameters, true);
+		SimulationConfig config = SimulationConfig.snapshot();
+		config.validate();
+		SimulationBuilder.prepareCaches(config.getRoutingAlgorithm());
+		int seed = parameters
+				.getInteger(HeadlessParameters.RANDOM_SEED_PARAM_ID);
+		Path policiesFile = Paths.get(parameters
+				.getString(ParametersAdapter.POLICIES_FILE_PARAM_ID));
+		Properties overrides = new Properties();
+		try (Reader reader = Files
+				.newBufferedReader(Paths.get(parametersFile))) {
+			overrides.load(reader);
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(workers);
+		List<Future<Integer>> exitCodes = new ArrayList<>();
+		try {
+			for (int run = 1; run <= replications; run++) {
+				Path directory = Paths.get(RUNS_DIRECTORY,
+						Integer.toString(run));
+				Files.createDirectories(directory);
+				overrides.setProperty(HeadlessParameters.RANDOM_SEED_PARAM_ID,
+						Integer.toString(seed + run - 1));
+				overrides.setProperty(
+						ParametersAdapter.CONFIG_DUMP_FILE_PARAM_ID,
+						directory.resolve(CONFIG_FILENAME).toString());
+				Path runPoliciesFile = directory.resolve(POLICIES_FILENAME);
+				if (Files.exists(policiesFile)) {
+					Files.copy(policiesFile, runPoliciesFile,
+							StandardCopyOption.REPLACE_EXISTING);
+				}
+				overrides.setProperty(ParametersAdapter.POLICIES_FILE_PARAM_ID,
+						runPoliciesFile.toString());
+				Path runParametersFile = directory
+						.resolve(PARAMETERS_FILENAME);
+				try (Writer writer = Files
+						.newBufferedWriter(runParametersFile)) {
+					overrides.store(writer, "Replication " + run);
+				}
+				int replication = run;
+				exitCodes.add(executor.submit(() -> launch(replication,
+						runParametersFile, directory, workerHeap)));
+			}
+		} finally {
+			executor.shutdown();
+		}
+		List<Integer> failedRuns = new ArrayList<>();
+		List<Integer> finishedRuns = new ArrayList<>();
+		for (int run = 1; run <= replications; run++) {
+			int exitCode;
+			try {
+				exitCode = exitCodes.get(run - 1).get();
+			} catch (ExecutionException ee) {
+				ee.printStackTrace();
+				exitCode = -1;
+			}
+			if (exitCode == 0) {
+				finishedRuns.add(run);
+			} else {
+				failedRuns.add(run);
+			}
+		}
+		merge(finishedRuns, HeadlessRunner.EPIDEMIC_FILENAME,
+				HeadlessOutput.EPIDEMIC_FILE);
+		merge(finishedRuns, HeadlessRunner.DENSITY_FILENAME,
+				HeadlessOutput.DENSITY_FILE);
+		return failedRuns;
+	}
+
+	/**
+	 * Launch a replication in a worker process with the class path of this
+	 * one. Workers only get their heap size, not the JVM options of this
+	 * process, so agents and recordings attached to it aren't replicated. It
+	 * returns the exit code of the worker.
+	 * 
+	 * @param run            Run number
+	 * @param parametersFile Parameters file of the replication
+	 * @param directory      Output directory of the replication
+	 * @param workerHeap     Maximum heap of the worker (unit: megabytes)
+	 */
+	private static int launch(int run, Path parametersFile, Path directory,
+			long workerHeap) throws IOException, InterruptedException {
+		List<String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java")
+				.toString());
+		command.add("-Xmx" + workerHeap + HEAP_UNIT);
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(HeadlessRunner.class.getName());
+		command.add(parametersFile.toString());
+		command.add(Integer.toString(run));
+		command.add(directory.toString());
+		Process process = new ProcessBuilder(command).redirectErrorStream(true)
+				.redirectOutput(directory.resolve(LOG_FILENAME).toFile())
+				.start();
+		return process.waitFor();
+	}
+
+	/**
+	 * Merge an output of several replications, in order of run
+	 * 
+	 * @param runs     Runs
+	 * @param filename Output file name within a replication directory
+	 * @param target   Merged file
+	 */
+	private static void merge(List<Integer> runs, String filename,
+			String target) throws IOException {
+		Path path = Paths.get(target).toAbsolutePath();
+		Files.createDirectories(path.getParent());
+		try (PrintWriter writer = new PrintWriter(
+				Files.newBufferedWriter(path))) {
+			boolean header = true;
+			for (int run : runs) {
+				Path source = Paths.get(RUNS_DIRECTORY, Integer.toString(run),
+						filename);
+				List<String> lines = Files.readAllLines(source);
+				for (int i = header ? 0 : 1; i < lines.size(); i++) {
+					writer.println(lines.get(i));
+				}
+				header = false;
+			}
+		}
+	}
+
+}
\ No newline at end of file
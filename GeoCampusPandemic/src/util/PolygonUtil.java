@@ -5,11 +5,17 @@ import com.vividsolutions.jts.geom.Coordinate;
 import com.vividsolutions.jts.geom.Geometry;
 import com.vividsolutions.jts.geom.GeometryFactory;
 import com.vividsolutions.jts.geom.Point;
+import gis.GISPointSampler;
 import gis.GISPolygon;
 import repast.simphony.gis.util.GeometryUtil;
 
 public final class PolygonUtil {
 
+	/**
+	 * Geometry factory
+	 */
+	private static final GeometryFactory FACTORY = new GeometryFactory();
+
 	/**
 	 * Private constructor
 	 */
@@ -18,17 +24,30 @@ public final class PolygonUtil {
 	}
 
 	/**
-	 * Get random point from polygon
+	 * Get random point from polygon. Points are drawn from the polygon's
+	 * triangulation, falling back to rejection sampling if it is empty.
 	 * 
 	 * @param polygon Polygon
 	 */
 	public static Point getRandomPoint(GISPolygon polygon) {
-		GeometryFactory geometryFactory = new GeometryFactory();
+		GISPointSampler pointSampler = polygon.getPointSampler();
+		if (pointSampler != null && !pointSampler.isEmpty()) {
+			return FACTORY.createPoint(pointSampler.sample());
+		}
+		return getRandomPointByRejection(polygon);
+	}
+
+	/**
+	 * Get random point from polygon by rejection sampling
+	 * 
+	 * @param polygon Polygon
+	 */
+	public static Point getRandomPointByRejection(GISPolygon polygon) {
 		Geometry geometry = polygon.getGeometry();
 		List<Coordinate> coordinates = GeometryUtil
 				.generateRandomPointsInPolygon(geometry, 1);
 		Coordinate coordinate = coordinates.get(0);
-		return geometryFactory.createPoint(coordinate);
+		return FACTORY.createPoint(coordinate);
 	}
 
 }
\ No newline at end of file
@@ -1,7 +1,5 @@
 package util;
 
-import repast.simphony.util.collections.Pair;
-
 public final class TickConverter {
 
 	/**
@@ -37,14 +35,22 @@ public final class TickConverter {
 	}
 
 	/**
-	 * Ticks to day and time
+	 * Ticks to day of the week. Days go from 1 to 7.
+	 * 
+	 * @param ticks Ticks
+	 */
+	public static int ticksToDay(double ticks) {
+		return (int) Math.floor(((ticks / TICKS_PER_DAY) % 7) + 1);
+	}
+
+	/**
+	 * Ticks to time of the day
 	 * 
 	 * @param ticks Ticks
 	 */
-	public static Pair<Integer, Double> ticksToDayTime(double ticks) {
-		int day = (int) Math.floor(((ticks / TICKS_PER_DAY) % 7) + 1);
-		double time = (((ticks / TICKS_PER_DAY) % 7) + 1 - day) * TICKS_PER_DAY;
-		return new Pair<>(day, time);
+	public static double ticksToTime(double ticks) {
+		int day = ticksToDay(ticks);
+		return (((ticks / TICKS_PER_DAY) % 7) + 1 - day) * TICKS_PER_DAY;
 	}
 
 	/**